@@ -0,0 +1,69 @@
+/*
+ * Copyright 2020 Krzysztof Smigielski
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.nilcaream.utilargs;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures ArgumentsParser.parse and parseCompact for different schema sizes and arguments lengths.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ArgumentsParserBenchmark {
+
+    @Param({"5", "50", "500", "5000"})
+    private int options;
+
+    @Param({"10", "1000", "100000", "1000000"})
+    private int length;
+
+    private final ArgumentsParser parser = new ArgumentsParser();
+    private String[] args;
+
+    @Setup
+    public void setup() {
+        args = Schemas.getArguments(options, length);
+    }
+
+    @Benchmark
+    public Map<String, List<String>> parse() {
+        return parser.parse(args);
+    }
+
+    @Benchmark
+    public ParsedArgs parseCompact() {
+        return parser.parseCompact(args);
+    }
+}
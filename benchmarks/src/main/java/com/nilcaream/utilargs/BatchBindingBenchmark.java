@@ -0,0 +1,88 @@
+/*
+ * Copyright 2020 Krzysztof Smigielski
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.nilcaream.utilargs;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Compares binding a batch of argument vectors one by one with parallel UtilArgs.bindAll and
+ * with parallel binding collecting errors.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BatchBindingBenchmark {
+
+    @Param({"5", "50", "500"})
+    private int options;
+
+    @Param({"10", "100"})
+    private int length;
+
+    @Param({"10000"})
+    private int vectors;
+
+    private final UtilArgsEngine collecting = UtilArgsEngine.create().withErrorCollection(true);
+    private List<String[]> args;
+    private Supplier<Object> factory;
+
+    @Setup
+    public void setup() {
+        args = new ArrayList<>(vectors);
+        for (int i = 0; i < vectors; i++) {
+            args.add(Schemas.getArguments(options, length));
+        }
+        factory = () -> Schemas.newTarget(options);
+    }
+
+    @Benchmark
+    public List<UtilArgs> sequential() {
+        List<UtilArgs> result = new ArrayList<>(vectors);
+        for (String[] vector : args) {
+            result.add(UtilArgs.bind(vector, factory.get()));
+        }
+        return result;
+    }
+
+    @Benchmark
+    public List<BindingResult<Object>> parallel() {
+        return UtilArgs.bindAll(args, factory);
+    }
+
+    @Benchmark
+    public List<BindingResult<Object>> collectErrors() {
+        return collecting.bindAll(args, factory);
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright 2020 Krzysztof Smigielski
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.nilcaream.utilargs;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures Binder.bind for scalars, arrays, lists and sets of different sizes. Arrays are converted
+ * sequentially or in parallel depending on the threshold.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BinderBenchmark {
+
+    @Param({"stringScalar", "intScalar", "stringArray", "intArray", "longArray", "doubleArray", "stringList", "stringSet"})
+    private String field;
+
+    @Param({"1", "100", "10000", "1000000"})
+    private int size;
+
+    @Param({"65536", "2147483647"})
+    private int parallelThreshold;
+
+    private Binder binder;
+    private final Target target = new Target();
+    private Field targetField;
+    private List<String> values;
+
+    @Setup
+    public void setup() throws NoSuchFieldException {
+        binder = new Binder().withParallelThreshold(parallelThreshold);
+        targetField = Target.class.getDeclaredField(field);
+        values = new ArrayList<>(size);
+        for (int index = 0; index < size; index++) {
+            values.add(String.valueOf(index));
+        }
+    }
+
+    @Benchmark
+    public Target bind() throws IllegalAccessException {
+        binder.bind(target, targetField, values);
+        return target;
+    }
+
+    public static class Target {
+        @Option("a")
+        private String stringScalar;
+
+        @Option("b")
+        private int intScalar;
+
+        @Option("c")
+        private String[] stringArray;
+
+        @Option("d")
+        private int[] intArray;
+
+        @Option("e")
+        private List<String> stringList;
+
+        @Option("f")
+        private Set<String> stringSet;
+
+        @Option("g")
+        private long[] longArray;
+
+        @Option("h")
+        private double[] doubleArray;
+    }
+}
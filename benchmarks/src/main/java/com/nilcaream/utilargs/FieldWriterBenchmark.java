@@ -0,0 +1,94 @@
+/*
+ * Copyright 2020 Krzysztof Smigielski
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.nilcaream.utilargs;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Field;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares reflective Field.set with method handle based field writer used by Binder.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FieldWriterBenchmark {
+
+    private final Target target = new Target();
+    private final String stringValue = "value";
+    private final Integer intValue = 42;
+
+    private Field stringField;
+    private Field intField;
+    private BoundField stringBoundField;
+    private BoundField intBoundField;
+
+    @Setup
+    public void setup() throws NoSuchFieldException {
+        stringField = Target.class.getDeclaredField("name");
+        stringField.setAccessible(true);
+        intField = Target.class.getDeclaredField("count");
+        intField.setAccessible(true);
+        stringBoundField = BindingPlan.find(stringField);
+        intBoundField = BindingPlan.find(intField);
+    }
+
+    @Benchmark
+    public Target reflectionString() throws IllegalAccessException {
+        stringField.set(target, stringValue);
+        return target;
+    }
+
+    @Benchmark
+    public Target methodHandleString() throws IllegalAccessException {
+        stringBoundField.set(target, stringValue);
+        return target;
+    }
+
+    @Benchmark
+    public Target reflectionInt() throws IllegalAccessException {
+        intField.set(target, intValue);
+        return target;
+    }
+
+    @Benchmark
+    public Target methodHandleInt() throws IllegalAccessException {
+        intBoundField.set(target, intValue);
+        return target;
+    }
+
+    public static class Target {
+        @Option(value = "n", alternative = "name")
+        private String name;
+
+        @Option(value = "c", alternative = "count")
+        private int count;
+    }
+}
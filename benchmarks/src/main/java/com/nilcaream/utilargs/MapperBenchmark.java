@@ -0,0 +1,98 @@
+/*
+ * Copyright 2020 Krzysztof Smigielski
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.nilcaream.utilargs;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures BaseMapper.map for each supported type and for both valid and invalid values.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperBenchmark {
+
+    @Param({"java.lang.String", "int", "java.lang.Integer", "long", "short", "byte", "double", "float", "char",
+            "boolean", "java.lang.StringBuilder", "java.lang.Object",
+            "java.util.concurrent.TimeUnit"})
+    private String type;
+
+    @Param({"true", "false"})
+    private boolean valid;
+
+    private final Mapper mapper = new BaseMapper();
+    private Class<?> cls;
+    private String value;
+
+    @Setup
+    public void setup() throws ClassNotFoundException {
+        switch (type) {
+            case "int":
+                cls = int.class;
+                break;
+            case "long":
+                cls = long.class;
+                break;
+            case "short":
+                cls = short.class;
+                break;
+            case "byte":
+                cls = byte.class;
+                break;
+            case "double":
+                cls = double.class;
+                break;
+            case "float":
+                cls = float.class;
+                break;
+            case "char":
+                cls = char.class;
+                break;
+            case "boolean":
+                cls = boolean.class;
+                break;
+            default:
+                cls = Class.forName(type);
+                break;
+        }
+        if (valid) {
+            value = cls == char.class ? "x" : cls == boolean.class ? "true" : cls.isEnum() ? "SECONDS" : "42";
+        } else {
+            value = cls == char.class ? "xy" : cls.isEnum() ? "WEEKS" : "4x2";
+        }
+    }
+
+    @Benchmark
+    public Object map() {
+        return mapper.map(value, cls);
+    }
+}
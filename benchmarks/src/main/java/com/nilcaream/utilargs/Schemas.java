@@ -0,0 +1,122 @@
+/*
+ * Copyright 2020 Krzysztof Smigielski
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.nilcaream.utilargs;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Benchmark schemas and arguments. Target classes with a given number of Option fields are
+ * compiled at runtime. Field i is a String for i % 3 == 0, an int for i % 3 == 1 and a boolean
+ * flag otherwise. Its Option value is "o" + i and alternative is "option" + i.
+ */
+final class Schemas {
+
+    private static final Map<Integer, Class<?>> CLASSES = new ConcurrentHashMap<>();
+
+    private Schemas() {
+    }
+
+    /**
+     * Gets target class with a given number of Option fields.
+     *
+     * @param options number of options.
+     * @return compiled target class.
+     */
+    static Class<?> getTargetClass(int options) {
+        return CLASSES.computeIfAbsent(options, Schemas::compile);
+    }
+
+    /**
+     * Creates new target object with a given number of Option fields.
+     *
+     * @param options number of options.
+     * @return target object.
+     */
+    static Object newTarget(int options) {
+        try {
+            return getTargetClass(options).getConstructor().newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Creates arguments of a given length that use all options of the schema in a round robin way.
+     * Values are unique. Last 10% of arguments are operands.
+     *
+     * @param options number of options.
+     * @param length  number of arguments.
+     * @return arguments.
+     */
+    static String[] getArguments(int options, int length) {
+        List<String> args = new ArrayList<>(length + 1);
+        int operands = length / 10;
+        for (int index = 0; args.size() < length - operands; index++) {
+            int option = index % options;
+            args.add("--option" + option);
+            if (option % 3 == 1) {
+                args.add(String.valueOf(index));
+            } else if (option % 3 == 0) {
+                args.add("value" + index);
+            }
+        }
+        while (args.size() < length) {
+            args.add("file" + args.size());
+        }
+        return args.subList(0, length).toArray(new String[0]);
+    }
+
+    private static Class<?> compile(int options) {
+        try {
+            Path directory = Files.createTempDirectory("util-args-benchmarks");
+            String name = "Schema" + options;
+            StringBuilder source = new StringBuilder("package com.nilcaream.utilargs;\n\npublic class " + name + " {\n");
+            for (int option = 0; option < options; option++) {
+                String type = option % 3 == 0 ? "String" : option % 3 == 1 ? "int" : "boolean";
+                source.append("    @Option(value = \"o").append(option).append("\", alternative = \"option").append(option)
+                        .append("\") private ").append(type).append(" field").append(option).append(";\n");
+            }
+            source.append("}\n");
+
+            Path file = directory.resolve(name + ".java");
+            Files.write(file, source.toString().getBytes(StandardCharsets.UTF_8));
+            JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+            ByteArrayOutputStream output = new ByteArrayOutputStream();
+            int result = compiler.run(null, output, output, "-proc:none", "-classpath", System.getProperty("java.class.path"),
+                    "-d", directory.toString(), file.toString());
+            if (result != 0) {
+                throw new IllegalStateException(new String(output.toByteArray(), StandardCharsets.UTF_8));
+            }
+            URLClassLoader classLoader = new URLClassLoader(new URL[]{directory.toUri().toURL()}, Schemas.class.getClassLoader());
+            return classLoader.loadClass("com.nilcaream.utilargs." + name);
+        } catch (IOException | ClassNotFoundException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2020 Krzysztof Smigielski
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.nilcaream.utilargs;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures ValuesSelector.select for options given by value, alternative or both.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ValuesSelectorBenchmark {
+
+    @Param({"value", "alternative", "both"})
+    private String keys;
+
+    @Param({"1", "100", "10000"})
+    private int size;
+
+    private final ValuesSelector selector = new ValuesSelector();
+    private final Map<String, List<String>> arguments = new HashMap<>();
+    private Option option;
+
+    @Setup
+    public void setup() throws NoSuchFieldException {
+        option = Target.class.getDeclaredField("field").getAnnotation(Option.class);
+        List<String> values = new ArrayList<>(size);
+        for (int index = 0; index < size; index++) {
+            values.add(String.valueOf(index));
+        }
+        if (!keys.equals("alternative")) {
+            arguments.put("f", values);
+        }
+        if (!keys.equals("value")) {
+            arguments.put("field", values);
+        }
+    }
+
+    @Benchmark
+    public List<String> select() {
+        return selector.select(arguments, option);
+    }
+
+    public static class Target {
+        @Option(value = "f", alternative = "field")
+        private String field;
+    }
+}
@@ -0,0 +1,237 @@
+/*
+ * Copyright 2020 Krzysztof Smigielski
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.nilcaream.utilargs.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.type.WildcardType;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Generates reflection-free binders of classes with Option annotated fields. Generated binder
+ * extends com.nilcaream.utilargs.GeneratedBinder and is picked up by UtilArgs automatically.
+ * Classes that cannot be bound without reflection (e.g. private fields without setters, final
+ * fields or private classes) are skipped with a note and are bound by using reflection.
+ */
+@SupportedAnnotationTypes(OptionProcessor.OPTION)
+public class OptionProcessor extends AbstractProcessor {
+
+    static final String OPTION = "com.nilcaream.utilargs.Option";
+    static final String GENERATED_BINDER = "com.nilcaream.utilargs.GeneratedBinder";
+    static final String SUFFIX = "_UtilArgsBinder";
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        TypeElement option = processingEnv.getElementUtils().getTypeElement(OPTION);
+        if (option == null) {
+            return false;
+        }
+        Map<TypeElement, List<VariableElement>> targets = new LinkedHashMap<>();
+        for (VariableElement field : ElementFilter.fieldsIn(roundEnv.getElementsAnnotatedWith(option))) {
+            targets.computeIfAbsent((TypeElement) field.getEnclosingElement(), k -> new ArrayList<>()).add(field);
+        }
+        for (Map.Entry<TypeElement, List<VariableElement>> entry : targets.entrySet()) {
+            String reason = validate(entry.getKey(), entry.getValue());
+            if (reason == null) {
+                generate(entry.getKey(), entry.getValue());
+            } else {
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.NOTE,
+                        "Binder not generated, reflection will be used: " + reason, entry.getKey());
+            }
+        }
+        return false;
+    }
+
+    private String validate(TypeElement type, List<VariableElement> fields) {
+        if (type.getNestingKind() == NestingKind.LOCAL || type.getNestingKind() == NestingKind.ANONYMOUS) {
+            return "local or anonymous class";
+        }
+        for (Element element = type; element instanceof TypeElement; element = element.getEnclosingElement()) {
+            if (element.getModifiers().contains(Modifier.PRIVATE)) {
+                return "private class " + element.getSimpleName();
+            }
+        }
+        for (VariableElement field : fields) {
+            if (field.getModifiers().contains(Modifier.FINAL)) {
+                return "final field " + field.getSimpleName();
+            } else if (field.asType().getKind() == TypeKind.TYPEVAR) {
+                return "generic field " + field.getSimpleName();
+            } else if (field.getModifiers().contains(Modifier.PRIVATE) && findSetter(type, field) == null) {
+                return "private field " + field.getSimpleName() + " without setter";
+            }
+        }
+        return null;
+    }
+
+    private ExecutableElement findSetter(TypeElement type, VariableElement field) {
+        String name = "set" + Character.toUpperCase(field.getSimpleName().charAt(0)) + field.getSimpleName().toString().substring(1);
+        boolean isStatic = field.getModifiers().contains(Modifier.STATIC);
+        for (ExecutableElement method : ElementFilter.methodsIn(type.getEnclosedElements())) {
+            if (method.getSimpleName().contentEquals(name)
+                    && !method.getModifiers().contains(Modifier.PRIVATE)
+                    && method.getModifiers().contains(Modifier.STATIC) == isStatic
+                    && method.getParameters().size() == 1
+                    && processingEnv.getTypeUtils().isSameType(method.getParameters().get(0).asType(), field.asType())) {
+                return method;
+            }
+        }
+        return null;
+    }
+
+    private void generate(TypeElement type, List<VariableElement> fields) {
+        PackageElement packageElement = processingEnv.getElementUtils().getPackageOf(type);
+        String packageName = packageElement.isUnnamed() ? "" : packageElement.getQualifiedName().toString();
+        String binaryName = processingEnv.getElementUtils().getBinaryName(type).toString();
+        String simpleName = (packageName.isEmpty() ? binaryName : binaryName.substring(packageName.length() + 1)).replace('$', '_') + SUFFIX;
+        String targetName = processingEnv.getTypeUtils().erasure(type.asType()).toString();
+
+        try {
+            JavaFileObject file = processingEnv.getFiler().createSourceFile(
+                    packageName.isEmpty() ? simpleName : packageName + "." + simpleName, type);
+            try (Writer writer = file.openWriter(); PrintWriter out = new PrintWriter(writer)) {
+                if (!packageName.isEmpty()) {
+                    out.println("package " + packageName + ";");
+                    out.println();
+                }
+                out.println("/**");
+                out.println(" * Generated by util-args-processor. Do not edit.");
+                out.println(" */");
+                out.println("public final class " + simpleName + " extends " + GENERATED_BINDER + "<" + targetName + "> {");
+                out.println();
+                out.println("    public " + simpleName + "() {");
+                for (VariableElement field : fields) {
+                    String elementType = getElementName(field.asType());
+                    out.println("        option(\"" + field.getSimpleName() + "\", " + literal(getValue(field, "value")) + ", "
+                            + literal(getValue(field, "alternative")) + ", " + getRawName(field.asType()) + ".class"
+                            + (elementType == null ? "" : ", " + elementType + ".class") + ");");
+                }
+                out.println("    }");
+                out.println();
+                out.println("    @Override");
+                out.println("    @SuppressWarnings({\"unchecked\", \"rawtypes\"})");
+                out.println("    protected void set(" + targetName + " target, int index, Object value) {");
+                out.println("        switch (index) {");
+                for (int index = 0; index < fields.size(); index++) {
+                    out.println("            case " + index + ":");
+                    out.println("                " + getAssignment(type, targetName, fields.get(index)) + ";");
+                    out.println("                break;");
+                }
+                out.println("            default:");
+                out.println("                throw new IndexOutOfBoundsException(String.valueOf(index));");
+                out.println("        }");
+                out.println("    }");
+                out.println("}");
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Cannot generate binder: " + e.getMessage(), type);
+        }
+    }
+
+    private String getAssignment(TypeElement type, String targetName, VariableElement field) {
+        String value = "(" + getCastName(field.asType()) + ") value";
+        String receiver = field.getModifiers().contains(Modifier.STATIC) ? targetName : "target";
+        if (field.getModifiers().contains(Modifier.PRIVATE)) {
+            return receiver + "." + findSetter(type, field).getSimpleName() + "(" + value + ")";
+        } else {
+            return receiver + "." + field.getSimpleName() + " = " + value;
+        }
+    }
+
+    private String getCastName(TypeMirror type) {
+        if (type.getKind().isPrimitive()) {
+            return processingEnv.getTypeUtils().boxedClass(processingEnv.getTypeUtils().getPrimitiveType(type.getKind())).getQualifiedName().toString();
+        } else {
+            return getRawName(type);
+        }
+    }
+
+    private String getElementName(TypeMirror type) {
+        if (type.getKind() != TypeKind.DECLARED || ((DeclaredType) type).getTypeArguments().size() != 1) {
+            return null;
+        }
+        TypeMirror argument = ((DeclaredType) type).getTypeArguments().get(0);
+        if (argument.getKind() == TypeKind.WILDCARD) {
+            argument = ((WildcardType) argument).getExtendsBound();
+        }
+        if (argument == null || argument.getKind() != TypeKind.DECLARED) {
+            return null;
+        }
+        String name = getRawName(argument);
+        return name.equals("java.lang.Object") || name.equals("java.lang.String") ? null : name;
+    }
+
+    private String getRawName(TypeMirror type) {
+        return processingEnv.getTypeUtils().erasure(type).toString();
+    }
+
+    private String getValue(VariableElement field, String name) {
+        for (AnnotationMirror annotation : field.getAnnotationMirrors()) {
+            if (((TypeElement) annotation.getAnnotationType().asElement()).getQualifiedName().contentEquals(OPTION)) {
+                for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry
+                        : processingEnv.getElementUtils().getElementValuesWithDefaults(annotation).entrySet()) {
+                    if (entry.getKey().getSimpleName().contentEquals(name)) {
+                        return String.valueOf(entry.getValue().getValue());
+                    }
+                }
+            }
+        }
+        return "";
+    }
+
+    private String literal(String value) {
+        StringBuilder result = new StringBuilder("\"");
+        for (char c : value.toCharArray()) {
+            if (c == '"' || c == '\\') {
+                result.append('\\').append(c);
+            } else if (c < 0x20 || c > 0x7e) {
+                result.append(String.format("\\u%04x", (int) c));
+            } else {
+                result.append(c);
+            }
+        }
+        return result.append('"').toString();
+    }
+}
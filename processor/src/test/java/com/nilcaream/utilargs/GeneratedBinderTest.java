@@ -0,0 +1,144 @@
+/*
+ * Copyright 2020 Krzysztof Smigielski
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.nilcaream.utilargs;
+
+import com.nilcaream.utilargs.processor.OptionProcessor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+import java.io.ByteArrayOutputStream;
+import java.lang.reflect.Field;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runtime tests of binders generated by the processor. Located in UtilArgs package to access binding plans.
+ */
+class GeneratedBinderTest {
+
+    @TempDir
+    Path directory;
+
+    private URLClassLoader classLoader;
+    private Class<?> generatedType;
+    private Class<?> skippedType;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        compile("example/GeneratedObject.java", "package example;\n"
+                + "import com.nilcaream.utilargs.Option;\n"
+                + "import java.util.List;\n"
+                + "public class GeneratedObject {\n"
+                + "    @Option(value = \"n\", alternative = \"name\") String name;\n"
+                + "    @Option(value = \"c\", alternative = \"count\") int count;\n"
+                + "    @Option(value = \"v\", alternative = \"verbose\") boolean verbose;\n"
+                + "    @Option(value = \"l\", alternative = \"list\") List<String> list;\n"
+                + "}\n");
+        compile("example/SkippedObject.java", "package example;\n"
+                + "import com.nilcaream.utilargs.Option;\n"
+                + "public class SkippedObject {\n"
+                + "    @Option(\"n\") private String name;\n"
+                + "}\n");
+        classLoader = new URLClassLoader(new URL[]{directory.toUri().toURL()}, getClass().getClassLoader());
+        generatedType = classLoader.loadClass("example.GeneratedObject");
+        skippedType = classLoader.loadClass("example.SkippedObject");
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        classLoader.close();
+    }
+
+    @Test
+    @DisplayName("Use generated binder if available")
+    void case01() {
+        // when
+        BindingPlan actual = BindingPlan.of(generatedType);
+
+        // then
+        assertThat(actual.isGenerated()).isTrue();
+        assertThat(actual.getFields()).extracting(BoundField::getName).containsExactly("name", "count", "verbose", "list");
+        assertThat(actual.getFields()).extracting(BoundField::getField).containsOnlyNulls();
+        assertThat(BindingPlan.of(skippedType).isGenerated()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Find cached bound fields of generated plans")
+    void case02() throws NoSuchFieldException {
+        // given
+        BindingPlan plan = BindingPlan.of(generatedType);
+
+        // when
+        BoundField actual = BindingPlan.find(generatedType.getDeclaredField("count"));
+
+        // then
+        assertThat(actual).isSameAs(plan.getFields().get(1));
+        assertThat(BindingPlan.find(generatedType.getDeclaredField("count"))).isSameAs(actual);
+    }
+
+    @Test
+    @DisplayName("Bind by using generated binder")
+    void case03() throws Exception {
+        // given
+        String[] args = new String[]{"-v", "--name", "bob", "-c", "12", "-l", "a", "-l", "b", "file"};
+        Object target = generatedType.getConstructor().newInstance();
+
+        // when
+        UtilArgs utilArgs = UtilArgs.bind(args, target);
+
+        // then
+        assertThat(get(target, "verbose")).isEqualTo(true);
+        assertThat(get(target, "name")).isEqualTo("bob");
+        assertThat(get(target, "count")).isEqualTo(12);
+        assertThat(get(target, "list")).isEqualTo(Arrays.asList("a", "b"));
+        assertThat(utilArgs.getOperandList()).containsExactly("file");
+    }
+
+    private Object get(Object target, String name) throws ReflectiveOperationException {
+        Field field = target.getClass().getDeclaredField(name);
+        field.setAccessible(true);
+        return field.get(target);
+    }
+
+    private void compile(String path, String source) throws Exception {
+        Path file = directory.resolve(path);
+        Files.createDirectories(file.getParent());
+        Files.write(file, source.getBytes(StandardCharsets.UTF_8));
+
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        int result = compiler.run(null, output, output,
+                "-classpath", System.getProperty("java.class.path"),
+                "-processor", OptionProcessor.class.getName(),
+                "-processorpath", System.getProperty("java.class.path"),
+                "-s", directory.toString(),
+                "-d", directory.toString(),
+                file.toString());
+        assertThat(result).as(new String(output.toByteArray(), StandardCharsets.UTF_8)).isZero();
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ * Copyright 2020 Krzysztof Smigielski
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.nilcaream.utilargs.processor;
+
+import com.nilcaream.utilargs.UtilArgs;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+import java.io.ByteArrayOutputStream;
+import java.lang.reflect.Field;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OptionProcessorTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Generate binder of package-private fields and private fields with setters")
+    void case01() throws Exception {
+        // given
+        String source = "package example;\n"
+                + "import com.nilcaream.utilargs.Option;\n"
+                + "import java.util.List;\n"
+                + "public class Example {\n"
+                + "    @Option(value = \"n\", alternative = \"name\") String name;\n"
+                + "    @Option(\"c\") int count;\n"
+                + "    @Option(alternative = \"verbose\") boolean verbose;\n"
+                + "    @Option(\"l\") List<Integer> list;\n"
+                + "    @Option(\"p\") private String path;\n"
+                + "    public void setPath(String path) { this.path = path; }\n"
+                + "    public String getPath() { return path; }\n"
+                + "}\n";
+
+        // when
+        String output = compile("example/Example.java", source);
+
+        // then
+        assertThat(output).isEmpty();
+        Path generated = directory.resolve("example/Example_UtilArgsBinder.java");
+        assertThat(generated).exists();
+        assertThat(new String(Files.readAllBytes(generated), StandardCharsets.UTF_8))
+                .contains("option(\"name\", \"n\", \"name\", java.lang.String.class);")
+                .contains("option(\"count\", \"c\", \"\", int.class);")
+                .contains("target.count = (java.lang.Integer) value;")
+                .contains("target.setPath((java.lang.String) value);");
+
+        try (URLClassLoader classLoader = new URLClassLoader(new URL[]{directory.toUri().toURL()}, getClass().getClassLoader())) {
+            Class<?> type = classLoader.loadClass("example.Example");
+            Object target = type.getConstructor().newInstance();
+            UtilArgs.bind(new String[]{"--verbose", "-n", "bob", "-c", "12", "-p", "/tmp"}, target);
+
+            assertThat(get(target, "name")).isEqualTo("bob");
+            assertThat(get(target, "count")).isEqualTo(12);
+            assertThat(get(target, "verbose")).isEqualTo(true);
+            assertThat(type.getMethod("getPath").invoke(target)).isEqualTo("/tmp");
+        }
+    }
+
+    @Test
+    @DisplayName("Skip classes that cannot be bound without reflection")
+    void case02() throws Exception {
+        // given
+        String source = "package example;\n"
+                + "import com.nilcaream.utilargs.Option;\n"
+                + "public class Private {\n"
+                + "    @Option(\"n\") private String name;\n"
+                + "}\n";
+
+        // when
+        String output = compile("example/Private.java", source);
+
+        // then
+        assertThat(output).contains("Binder not generated, reflection will be used: private field name without setter");
+        assertThat(directory.resolve("example/Private_UtilArgsBinder.java")).doesNotExist();
+    }
+
+    @Test
+    @DisplayName("Generate binder of nested static class")
+    void case03() throws Exception {
+        // given
+        String source = "package example;\n"
+                + "import com.nilcaream.utilargs.Option;\n"
+                + "public class Outer {\n"
+                + "    public static class Inner {\n"
+                + "        @Option(\"n\") public String name;\n"
+                + "    }\n"
+                + "}\n";
+
+        // when
+        String output = compile("example/Outer.java", source);
+
+        // then
+        assertThat(output).isEmpty();
+        assertThat(new String(Files.readAllBytes(directory.resolve("example/Outer_Inner_UtilArgsBinder.java")), StandardCharsets.UTF_8))
+                .contains("extends com.nilcaream.utilargs.GeneratedBinder<example.Outer.Inner>");
+    }
+
+    private Object get(Object target, String name) throws ReflectiveOperationException {
+        Field field = target.getClass().getDeclaredField(name);
+        field.setAccessible(true);
+        return field.get(target);
+    }
+
+    private String compile(String path, String source) throws Exception {
+        Path file = directory.resolve(path);
+        Files.createDirectories(file.getParent());
+        Files.write(file, source.getBytes(StandardCharsets.UTF_8));
+
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        int result = compiler.run(null, output, output,
+                "-classpath", System.getProperty("java.class.path"),
+                "-processor", OptionProcessor.class.getName(),
+                "-processorpath", System.getProperty("java.class.path"),
+                "-s", directory.toString(),
+                "-d", directory.toString(),
+                file.toString());
+        String text = new String(output.toByteArray(), StandardCharsets.UTF_8);
+        assertThat(result).as(text).isZero();
+        return text.trim();
+    }
+}
@@ -0,0 +1,197 @@
+/*
+ * Copyright 2020 Krzysztof Smigielski
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.nilcaream.utilargs;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Argument source expanding @path arguments with contents of response files, similar to javac
+ * argument files. Each file is memory-mapped and tokenized lazily so an argument is decoded only
+ * when it is read from this source. Argument file rules:
+ * <ul>
+ * <li>arguments are separated by whitespace,</li>
+ * <li>single or double quotes group characters including whitespace; unterminated quote is an error,</li>
+ * <li>backslash inside quotes escapes the next character; \n, \t, \r and \f are special characters,</li>
+ * <li># at the beginning of an argument starts a comment that ends with the line, also in the middle
+ * of a line; # inside an argument is a literal character,</li>
+ * <li>@@ at the beginning of an argument is replaced with a literal @,</li>
+ * <li>argument files are not expanded recursively.</li>
+ * </ul>
+ */
+public class ArgumentFileSource implements ArgumentSource, Closeable {
+
+    private final ArgumentSource source;
+    private MappedByteBuffer buffer;
+    private String path;
+    private byte[] token = new byte[256];
+
+    private ArgumentFileSource(ArgumentSource source) {
+        this.source = source;
+    }
+
+    /**
+     * Creates source expanding argument files of an arguments array.
+     *
+     * @param args arguments, usually from application main method.
+     * @return argument source.
+     */
+    public static ArgumentFileSource expand(String... args) {
+        int[] index = new int[1];
+        return expand(() -> index[0] < args.length ? args[index[0]++] : null);
+    }
+
+    /**
+     * Creates source expanding argument files of another source.
+     *
+     * @param source arguments source.
+     * @return argument source.
+     */
+    public static ArgumentFileSource expand(ArgumentSource source) {
+        return new ArgumentFileSource(source);
+    }
+
+    /**
+     * Checks if there is at least one argument file in arguments array.
+     *
+     * @param args arguments.
+     * @return true if any argument starts with @ followed by a path.
+     */
+    static boolean hasArgumentFiles(String[] args) {
+        for (String arg : args) {
+            if (arg.length() > 1 && arg.charAt(0) == '@') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public String next() throws IOException {
+        while (true) {
+            if (buffer != null) {
+                String arg = nextToken();
+                if (arg != null) {
+                    return arg;
+                }
+                buffer = null;
+            }
+            String arg = source.next();
+            if (arg == null || arg.length() < 2 || arg.charAt(0) != '@') {
+                return arg;
+            } else if (arg.startsWith("@@")) {
+                return arg.substring(1);
+            }
+            path = arg.substring(1);
+            buffer = map(path);
+        }
+    }
+
+    private static MappedByteBuffer map(String path) throws IOException {
+        try (FileChannel channel = FileChannel.open(Paths.get(path), StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("Argument file " + path + " is too large");
+            }
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        }
+    }
+
+    private String nextToken() {
+        MappedByteBuffer buffer = this.buffer;
+        int position = buffer.position();
+        int limit = buffer.limit();
+
+        while (position < limit) {
+            byte b = buffer.get(position);
+            if (isWhitespace(b)) {
+                position++;
+            } else if (b == '#') {
+                while (position < limit && buffer.get(position) != '\n' && buffer.get(position) != '\r') {
+                    position++;
+                }
+            } else {
+                break;
+            }
+        }
+        if (position == limit) {
+            buffer.position(position);
+            return null;
+        }
+
+        int length = 0;
+        byte quote = 0;
+        while (position < limit) {
+            byte b = buffer.get(position++);
+            if (quote != 0) {
+                if (b == quote) {
+                    quote = 0;
+                    continue;
+                } else if (b == '\\' && position < limit) {
+                    b = unescape(buffer.get(position++));
+                }
+            } else if (b == '"' || b == '\'') {
+                quote = b;
+                continue;
+            } else if (isWhitespace(b)) {
+                break;
+            }
+            if (length == token.length) {
+                token = Arrays.copyOf(token, length * 2);
+            }
+            token[length++] = b;
+        }
+        if (quote != 0) {
+            throw new UtilArgsException("Unterminated quote in argument file " + path);
+        }
+        buffer.position(position);
+        return new String(token, 0, length, StandardCharsets.UTF_8);
+    }
+
+    private static byte unescape(byte b) {
+        switch (b) {
+            case 'n':
+                return '\n';
+            case 't':
+                return '\t';
+            case 'r':
+                return '\r';
+            case 'f':
+                return '\f';
+            default:
+                return b;
+        }
+    }
+
+    private static boolean isWhitespace(byte b) {
+        return b == ' ' || b == '\t' || b == '\n' || b == '\r' || b == '\f';
+    }
+
+    @Override
+    public void close() throws IOException {
+        buffer = null;
+        if (source instanceof Closeable) {
+            ((Closeable) source).close();
+        }
+    }
+}
@@ -0,0 +1,35 @@
+/*
+ * Copyright 2020 Krzysztof Smigielski
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.nilcaream.utilargs;
+
+import java.io.IOException;
+
+/**
+ * Sequential source of command line arguments. Allows binding arguments that are not
+ * available as a single array e.g. streamed from standard input.
+ */
+@FunctionalInterface
+public interface ArgumentSource {
+
+    /**
+     * Reads next argument.
+     *
+     * @return next argument or null if there are no more arguments.
+     * @throws IOException thrown if reading fails.
+     */
+    String next() throws IOException;
+}
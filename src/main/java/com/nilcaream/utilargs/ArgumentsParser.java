@@ -16,9 +16,8 @@
 
 package com.nilcaream.utilargs;
 
+import java.io.IOException;
 import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -27,6 +26,9 @@ import java.util.Map;
  */
 public class ArgumentsParser {
 
+    private final OperandsResolver operandsResolver = new OperandsResolver();
+    private boolean argumentFiles;
+
     /**
      * Maps array of command line arguments to a map of values.
      *
@@ -34,43 +36,198 @@ public class ArgumentsParser {
      * @return map of argument to list of values.
      */
     public Map<String, List<String>> parse(String... args) {
-        Map<String, List<String>> results = new HashMap<>();
+        return parseCompact(args).toMap();
+    }
+
+    /**
+     * Maps array of command line arguments to a compact structure referencing original arguments.
+     *
+     * @param args arguments, usually from application main method.
+     * @return parsed arguments.
+     */
+    public ParsedArgs parseCompact(String... args) {
+        return parseCompact(expand(args), null);
+    }
+
+    /**
+     * Maps array of command line arguments to a compact structure. If option keys of target objects
+     * are given, each argument is classified once as a flag, an option followed by a value or an
+     * operand candidate, so parsed values and the index of the first operand always agree. Known
+     * non-boolean options take the next argument as a value unless it is the -- marker. Other options,
+     * including unknown ones, are flags. Operands follow the last option or the -- marker.
+     *
+     * @param args arguments, usually from application main method.
+     * @param keys option keys of target objects; null to parse without schema and skip operands resolution.
+     * @return parsed arguments.
+     */
+    ParsedArgs parseCompact(String[] args, OptionKeys[] keys) {
+        return keys == null ? parseWithoutKeys(args) : parseWithKeys(args, keys);
+    }
+
+    private ParsedArgs parseWithoutKeys(String[] args) {
+        ParsedArgs.Builder builder = new ParsedArgs.Builder(args);
         for (int i = 0, length = args.length; i < length; i++) {
             String key = args[i];
-            String value = get(args, i + 1);
-            if (key.equals("--")) {
-                if (!value.isEmpty()) {
-                    String operands = String.join(" ", Arrays.copyOfRange(args, i + 1, length));
-                    add(results, key, operands);
+            int keyLength = key.length();
+            if (keyLength < 2 || key.charAt(0) != '-') {
+                continue;
+            }
+            boolean hasValue = i + 1 < length;
+            if (key.charAt(1) == '-') {
+                if (keyLength == 2) {
+                    if (hasValue && !args[i + 1].isEmpty()) {
+                        builder.addOperands(i);
+                    }
+                    break;
+                } else if (hasValue) {
+                    builder.add(i, 2, keyLength - 2, i + 1);
+                } else {
+                    builder.add(i, 2, keyLength - 2, ParsedArgs.EMPTY_INDEX);
                 }
-                break;
-            } else if (key.startsWith("--") && key.length() > 2) {
-                add(results, key.substring(2), value);
-            } else if (key.startsWith("-") && key.length() == 2 && (value.isEmpty() || value.equals("--"))) {
-                add(results, key.substring(1), "true");
-            } else if (key.startsWith("-") && key.length() == 2) {
-                add(results, key.substring(1), value);
-            } else if (key.startsWith("-") && key.length() > 2) {
-                for (String flag : key.substring(1).split("")) {
-                    add(results, flag, "true");
+            } else if (keyLength == 2) {
+                if (!hasValue || args[i + 1].isEmpty() || isMarker(args[i + 1])) {
+                    builder.addFlag(i, 1, 1);
+                } else {
+                    builder.add(i, 1, 1, i + 1);
+                }
+            } else {
+                addFlags(builder, i, keyLength);
+            }
+        }
+        return builder.build();
+    }
+
+    private ParsedArgs parseWithKeys(String[] args, OptionKeys[] keys) {
+        ParsedArgs.Builder builder = new ParsedArgs.Builder(args);
+        boolean parsing = true;
+        int operandsIndex = 0;
+        for (int i = 0, length = args.length; i < length; i++) {
+            String key = args[i];
+            int keyLength = key.length();
+            if (keyLength < 2 || key.charAt(0) != '-') {
+                continue;
+            }
+            if (parsing && isMarker(key)) {
+                if (i + 1 < length && !args[i + 1].isEmpty()) {
+                    builder.addOperands(i);
+                    return builder.build();
+                }
+                parsing = false;
+                continue;
+            }
+            int optionLength = operandsResolver.getOptionLength(key, keys);
+            boolean hasValue = optionLength == 2 && i + 1 < length && !isMarker(args[i + 1]);
+            if (optionLength != 0 || parsing) {
+                operandsIndex = hasValue ? i + 2 : i + 1;
+            }
+            if (!parsing) {
+                continue;
+            } else if (key.charAt(1) == '-') {
+                builder.add(i, 2, keyLength - 2, hasValue ? i + 1 : ParsedArgs.EMPTY_INDEX);
+            } else if (keyLength == 2) {
+                if (hasValue && !args[i + 1].isEmpty()) {
+                    builder.add(i, 1, 1, i + 1);
+                } else {
+                    builder.addFlag(i, 1, 1);
                 }
+            } else {
+                addFlags(builder, i, keyLength);
+            }
+            if (hasValue) {
+                i++;
             }
         }
-        return results;
+        builder.setOperandsIndex(Math.min(operandsIndex, args.length));
+        return builder.build();
     }
 
-    private void add(Map<String, List<String>> results, String key, String value) {
-        List<String> values = results.computeIfAbsent(key, k -> new ArrayList<>());
-        if (!values.contains(value)) {
-            values.add(value);
+    private static void addFlags(ParsedArgs.Builder builder, int keyArg, int keyLength) {
+        for (int c = 1; c < keyLength; c++) {
+            builder.addFlag(keyArg, c, 1);
         }
     }
 
-    private String get(String[] args, int index) {
-        if (index >= args.length) {
-            return "";
-        } else {
-            return args[index];
+    private static boolean isMarker(String arg) {
+        return arg.equals(ParsedArgs.OPERANDS_KEY);
+    }
+
+    /**
+     * Expands argument files if enabled. All argument files are read and tokenized; use
+     * {@link #expand(ArgumentSource)} to decode arguments only as they are consumed.
+     *
+     * @param args arguments.
+     * @return expanded arguments or the same array if there is nothing to expand.
+     */
+    String[] expand(String[] args) {
+        if (!argumentFiles || !ArgumentFileSource.hasArgumentFiles(args)) {
+            return args;
+        }
+        List<String> result = new ArrayList<>(args.length);
+        try (ArgumentFileSource source = ArgumentFileSource.expand(args)) {
+            String arg;
+            while ((arg = source.next()) != null) {
+                result.add(arg);
+            }
+        } catch (IOException e) {
+            throw new UtilArgsException("Cannot read argument file", e);
         }
+        return result.toArray(new String[0]);
+    }
+
+    /**
+     * Wraps arguments source with argument files expansion if enabled.
+     *
+     * @param source arguments source.
+     * @return expanding source or the same source.
+     */
+    ArgumentSource expand(ArgumentSource source) {
+        return argumentFiles ? ArgumentFileSource.expand(source) : source;
+    }
+
+    /**
+     * Reads options from a sequential source up to the first operand. Option expects a value if it
+     * is a known non-boolean option of target objects; the -- marker is never a value and always ends
+     * options, as in {@link #parseCompact(String[], OptionKeys[])}. Remaining source arguments are operands.
+     * Read options are meant to be parsed with the same keys.
+     *
+     * @param source  arguments source.
+     * @param keys    option keys of target objects.
+     * @param options list to add options and their values to.
+     * @return first operand or null if there are no operands.
+     * @throws IOException thrown if reading fails.
+     */
+    String readOptions(ArgumentSource source, OptionKeys[] keys, List<String> options) throws IOException {
+        String arg;
+        while ((arg = source.next()) != null) {
+            if (arg.equals("--")) {
+                return source.next();
+            } else if (arg.length() < 2 || arg.charAt(0) != '-') {
+                return arg;
+            }
+            options.add(arg);
+            if (operandsResolver.getOptionLength(arg, keys) == 2) {
+                String value = source.next();
+                if (value == null) {
+                    return null;
+                } else if (isMarker(value)) {
+                    return source.next();
+                }
+                options.add(value);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Enables expansion of @path arguments with contents of argument files.
+     * Arguments starting with @@ are passed as literal arguments starting with @.
+     *
+     * @param argumentFiles enable / disable.
+     * @return parser object.
+     * @see ArgumentFileSource
+     */
+    public ArgumentsParser withArgumentFiles(boolean argumentFiles) {
+        this.argumentFiles = argumentFiles;
+        return this;
     }
 }
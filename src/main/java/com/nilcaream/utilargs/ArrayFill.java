@@ -0,0 +1,109 @@
+/*
+ * Copyright 2020 Krzysztof Smigielski
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.nilcaream.utilargs;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Fork/join fill of an array split into index ranges. Ranges are filled by a specialized loop and
+ * a failure of the lowest failing range is rethrown, which is the failure a sequential fill would
+ * throw. Ranges following an already failed range are skipped.
+ */
+final class ArrayFill extends RecursiveAction {
+
+    private static final long serialVersionUID = 1L;
+    private static final int MIN_RANGE = 1024;
+
+    private final Range range;
+    private final Failure failure;
+    private final int from;
+    private final int to;
+    private final int leaf;
+
+    private ArrayFill(Range range, Failure failure, int from, int to, int leaf) {
+        this.range = range;
+        this.failure = failure;
+        this.from = from;
+        this.to = to;
+        this.leaf = leaf;
+    }
+
+    /**
+     * Fills array range sequentially or in parallel if size is at least equal to threshold.
+     *
+     * @param size      array size.
+     * @param threshold minimal size of parallel fill.
+     * @param range     specialized fill loop of a range.
+     */
+    static void fill(int size, int threshold, Range range) {
+        if (size < threshold || size < MIN_RANGE * 2) {
+            range.fill(0, size);
+        } else {
+            int leaf = Math.max(MIN_RANGE, size / (ForkJoinPool.getCommonPoolParallelism() * 4));
+            Failure failure = new Failure();
+            ForkJoinPool.commonPool().invoke(new ArrayFill(range, failure, 0, size, leaf));
+            if (failure.error != null) {
+                throw failure.error;
+            }
+        }
+    }
+
+    @Override
+    protected void compute() {
+        if (from > failure.from) {
+            return;
+        } else if (to - from <= leaf) {
+            try {
+                range.fill(from, to);
+            } catch (RuntimeException e) {
+                failure.set(from, e);
+            }
+        } else {
+            int middle = (from + to) >>> 1;
+            invokeAll(new ArrayFill(range, failure, from, middle, leaf), new ArrayFill(range, failure, middle, to, leaf));
+        }
+    }
+
+    /**
+     * Specialized fill loop of an array range.
+     */
+    @FunctionalInterface
+    interface Range {
+
+        /**
+         * Fills array elements.
+         *
+         * @param from first index; inclusive.
+         * @param to   last index; exclusive.
+         * @throws RuntimeException thrown on the first element that cannot be converted.
+         */
+        void fill(int from, int to);
+    }
+
+    private static final class Failure {
+        private volatile int from = Integer.MAX_VALUE;
+        private RuntimeException error;
+
+        private synchronized void set(int from, RuntimeException error) {
+            if (from < this.from) {
+                this.error = error;
+                this.from = from;
+            }
+        }
+    }
+}
@@ -16,18 +16,39 @@
 
 package com.nilcaream.utilargs;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.AccessibleObject;
 import java.lang.reflect.Constructor;
-import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
+import java.util.function.Function;
 
 /**
  * Reflection-based String value to specific type mapper. This implementation supports using
  * static valueOf(String) method or single argument String constructor if available. Should not
  * fail if these options are not available. Maps most common cases like String (trivial mapping),
- * primitive and boxed types (primitive type wrappers).
+ * primitive and boxed types (primitive type wrappers). Mapping strategy is resolved once per
+ * target class and reused by subsequent calls. Enum constants are found in a lookup table built
+ * once per enum type, optionally ignoring case or matching unambiguous name prefixes. Numeric values
+ * are validated before parsing so invalid values are reported without exceptions.
  */
-public class BaseMapper implements Mapper {
+public class BaseMapper implements ResultMapper {
+
+    private static final Function<String, Object> NOT_MAPPABLE = value -> null;
+    private static final Function<String, Object> ENUM_LOOKUP = value -> null;
+
+    // converters hold no mapper state so that cached converters do not keep mapper instances reachable
+    private static final ClassValue<Function<String, Object>> CONVERTERS = new ClassValue<Function<String, Object>>() {
+        @Override
+        protected Function<String, Object> computeValue(Class<?> type) {
+            return createConverter(type);
+        }
+    };
+
+    private boolean enumIgnoreCase;
+    private boolean enumPrefix;
 
     /**
      * Maps provided value to a specific class instance.
@@ -40,59 +61,190 @@ public class BaseMapper implements Mapper {
     @Override
     @SuppressWarnings("unchecked")
     public <T> T map(String value, Class<T> cls) {
-        T result = null;
+        Object event = FlightEvents.beginMap();
+        Object result = value == null ? null : convert(value, cls);
+        FlightEvents.commitMap(event, cls, result != null);
+        return (T) result;
+    }
+
+    private Object convert(String value, Class<?> cls) {
+        Function<String, Object> converter = CONVERTERS.get(cls);
+        if (converter == ENUM_LOOKUP) {
+            return EnumLookup.of(cls).find(value, enumIgnoreCase, enumPrefix);
+        } else {
+            return converter.apply(value);
+        }
+    }
+
+    /**
+     * Maps provided value to a specific class instance. Failure reason is resolved only if mapping fails.
+     *
+     * @param value String value.
+     * @param cls   Target class.
+     * @param <T>   Target type.
+     * @return mapping result; non-null.
+     */
+    @Override
+    public <T> MappingResult<T> tryMap(String value, Class<T> cls) {
+        T result = map(value, cls);
+        return result == null ? MappingResult.failure(getReason(value, cls)) : MappingResult.success(result);
+    }
+
+    private String getReason(String value, Class<?> cls) {
+        String reason = value == null ? "missing value" : checkNumber(value, cls);
+        if (reason != null) {
+            return reason;
+        } else if (CONVERTERS.get(cls) == NOT_MAPPABLE) {
+            return "unsupported type";
+        } else if (isCharacter(cls)) {
+            return "not a single character";
+        } else if (cls.isEnum()) {
+            return "unknown constant";
+        } else {
+            return "invalid value";
+        }
+    }
+
+    /**
+     * Enables or disables case-insensitive matching of enum constant names. Exact match takes precedence.
+     * Should be set before the mapper is used by multiple threads.
+     *
+     * @param enumIgnoreCase enable / disable.
+     * @return mapper object.
+     */
+    public BaseMapper withEnumIgnoreCase(boolean enumIgnoreCase) {
+        this.enumIgnoreCase = enumIgnoreCase;
+        return this;
+    }
+
+    /**
+     * Enables or disables matching enum constants by unambiguous name prefixes e.g. "SEC" for SECONDS.
+     * Full name match takes precedence. Should be set before the mapper is used by multiple threads.
+     *
+     * @param enumPrefix enable / disable.
+     * @return mapper object.
+     */
+    public BaseMapper withEnumPrefix(boolean enumPrefix) {
+        this.enumPrefix = enumPrefix;
+        return this;
+    }
+
+    private static Function<String, Object> createConverter(Class<?> cls) {
         if (cls.equals(String.class)) {
-            result = (T) value;
+            return value -> value;
+        } else if (cls.isEnum()) {
+            return ENUM_LOOKUP;
         }
-        if (result == null) {
-            result = tryStaticValueOf(cls, value);
+        Function<String, Object> staticValueOf = findStaticValueOf(cls);
+        if (staticValueOf != null && (cls.isPrimitive() || isWrapper(cls))) {
+            // String constructors of primitive wrappers are equivalent to valueOf
+            if (isCharacter(cls) || cls == boolean.class || cls == Boolean.class) {
+                return staticValueOf;
+            }
+            return value -> checkNumber(value, cls) == null ? staticValueOf.apply(value) : null;
         }
-        if (result == null) {
-            result = tryStringConstructor(cls, value);
+        Function<String, Object> stringConstructor = findStringConstructor(cls);
+        if (staticValueOf == null && stringConstructor == null) {
+            return NOT_MAPPABLE;
+        } else if (staticValueOf == null) {
+            return stringConstructor;
+        } else if (stringConstructor == null) {
+            return staticValueOf;
+        } else {
+            return value -> {
+                Object result = staticValueOf.apply(value);
+                return result == null ? stringConstructor.apply(value) : result;
+            };
         }
-        return result;
     }
 
-    @SuppressWarnings("unchecked")
-    private <T> T tryStaticValueOf(Class<T> cls, String value) {
+    private static String checkNumber(String value, Class<?> cls) {
+        if (cls == int.class || cls == Integer.class) {
+            return Numbers.checkInteger(value, Integer.MIN_VALUE, Integer.MAX_VALUE);
+        } else if (cls == long.class || cls == Long.class) {
+            return Numbers.checkInteger(value, Long.MIN_VALUE, Long.MAX_VALUE);
+        } else if (cls == short.class || cls == Short.class) {
+            return Numbers.checkInteger(value, Short.MIN_VALUE, Short.MAX_VALUE);
+        } else if (cls == byte.class || cls == Byte.class) {
+            return Numbers.checkInteger(value, Byte.MIN_VALUE, Byte.MAX_VALUE);
+        } else if (cls == double.class || cls == Double.class || cls == float.class || cls == Float.class) {
+            return Numbers.checkDecimal(value);
+        } else {
+            return null;
+        }
+    }
+
+    private static Function<String, Object> findStaticValueOf(Class<?> cls) {
         try {
             Class<?> fieldType = getType(cls);
-            Class<?> parameterType = getParameterType(cls);
-            Method valueOf = fieldType.getMethod("valueOf", parameterType);
-            Object argument = getArgument(cls, value);
-            if (Modifier.isStatic(valueOf.getModifiers()) && argument != null) {
-                return (T) valueOf.invoke(null, argument);
+            Method valueOf = fieldType.getMethod("valueOf", getParameterType(cls));
+            if (Modifier.isStatic(valueOf.getModifiers())) {
+                MethodHandle handle = unreflect(valueOf)
+                        .asType(MethodType.methodType(Object.class, valueOf.getParameterTypes()[0]));
+                if (isCharacter(cls)) {
+                    return value -> value.length() == 1 ? invoke(handle, value.charAt(0)) : null;
+                } else {
+                    return value -> invoke(handle, value);
+                }
             }
-        } catch (InvocationTargetException | ClassNotFoundException | IllegalAccessException | NoSuchMethodException ignore) {
+        } catch (ClassNotFoundException | IllegalAccessException | NoSuchMethodException ignore) {
             // ignored;
         }
         return null;
     }
 
-    @SuppressWarnings("unchecked")
-    private <T> T tryStringConstructor(Class<T> cls, String value) {
+    private static Function<String, Object> findStringConstructor(Class<?> cls) {
         try {
-            // noinspection rawtypes
-            return (T) ((Constructor) cls.getConstructor(String.class)).newInstance(value);
-        } catch (NoSuchMethodException | IllegalAccessException | InstantiationException | InvocationTargetException ignore) {
+            MethodHandle handle = unreflectConstructor(cls.getConstructor(String.class))
+                    .asType(MethodType.methodType(Object.class, String.class));
+            return value -> invoke(handle, value);
+        } catch (NoSuchMethodException | IllegalAccessException ignore) {
             // ignored;
         }
         return null;
     }
 
-    private Object getArgument(Class<?> cls, String value) {
-        Object result = null;
-        if (isCharacter(cls)) {
-            if (value.length() == 1) {
-                result = value.charAt(0);
-            }
-        } else {
-            result = value;
+    /*
+     * Public lookup cannot access public members of non-public classes which are accessible to reflection.
+     */
+    private static MethodHandle unreflect(Method method) throws IllegalAccessException {
+        try {
+            return MethodHandles.publicLookup().unreflect(method);
+        } catch (IllegalAccessException e) {
+            setAccessible(method, e);
+            return MethodHandles.lookup().unreflect(method);
         }
-        return result;
     }
 
-    private Class<?> getType(Class<?> type) throws ClassNotFoundException {
+    private static MethodHandle unreflectConstructor(Constructor<?> constructor) throws IllegalAccessException {
+        try {
+            return MethodHandles.publicLookup().unreflectConstructor(constructor);
+        } catch (IllegalAccessException e) {
+            setAccessible(constructor, e);
+            return MethodHandles.lookup().unreflectConstructor(constructor);
+        }
+    }
+
+    private static void setAccessible(AccessibleObject object, IllegalAccessException error) throws IllegalAccessException {
+        try {
+            object.setAccessible(true);
+        } catch (RuntimeException e) {
+            throw error;
+        }
+    }
+
+    private static Object invoke(MethodHandle handle, Object argument) {
+        try {
+            return handle.invoke(argument);
+        } catch (Error e) {
+            throw e;
+        } catch (Throwable ignore) {
+            // ignored;
+        }
+        return null;
+    }
+
+    private static Class<?> getType(Class<?> type) throws ClassNotFoundException {
         if (type.isPrimitive()) {
             return Class.forName("java.lang." + getWrappingClassName(type.getName()));
         } else {
@@ -100,7 +252,7 @@ public class BaseMapper implements Mapper {
         }
     }
 
-    private String getWrappingClassName(String primitiveClassName) {
+    private static String getWrappingClassName(String primitiveClassName) {
         String result;
         switch (primitiveClassName) {
             case "int":
@@ -116,11 +268,11 @@ public class BaseMapper implements Mapper {
         return result;
     }
 
-    private String toCamelCase(String input) {
+    private static String toCamelCase(String input) {
         return input.substring(0, 1).toUpperCase() + input.substring(1);
     }
 
-    private Class<?> getParameterType(Class<?> type) {
+    private static Class<?> getParameterType(Class<?> type) {
         if (isCharacter(type)) {
             return char.class;
         } else {
@@ -128,7 +280,13 @@ public class BaseMapper implements Mapper {
         }
     }
 
-    private boolean isCharacter(Class<?> type) {
+    private static boolean isCharacter(Class<?> type) {
         return type.equals(char.class) || type.equals(Character.class);
     }
+
+    private static boolean isWrapper(Class<?> type) {
+        return type.equals(Integer.class) || type.equals(Long.class) || type.equals(Short.class)
+                || type.equals(Byte.class) || type.equals(Double.class) || type.equals(Float.class)
+                || type.equals(Boolean.class) || type.equals(Character.class);
+    }
 }
@@ -16,20 +16,33 @@
 
 package com.nilcaream.utilargs;
 
+import java.lang.invoke.MethodHandle;
 import java.lang.reflect.Array;
 import java.lang.reflect.Field;
+import java.util.ArrayList;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
 
 /**
- * Reflection-based object fields setter.
+ * Reflection-based object fields setter. Field values are written through method handles
+ * resolved once per field.
  */
 public class Binder {
 
+    /**
+     * Default minimal number of array elements converted in parallel by {@link BaseMapper}. Arrays mapped
+     * by custom mappers are converted in parallel only if threshold is set explicitly.
+     */
+    public static final int DEFAULT_PARALLEL_THRESHOLD = 1 << 16;
+
+    private static final String NOT_A_CHARACTER = "not a single character";
+
     private boolean useFirst = true;
     private boolean useLast = true;
     private Mapper mapper = new BaseMapper();
+    private int parallelThreshold;
+    private BindingListener listener = BindingListener.NONE;
 
     /**
      * Sets field value on a target object based on list of values.
@@ -40,54 +53,403 @@ public class Binder {
      * @throws IllegalAccessException thrown if reflection field setting fails.
      */
     public void bind(Object target, Field field, List<String> values) throws IllegalAccessException {
-        Object value = resolve(values, field.getType());
+        BoundField bound = BindingPlan.find(field);
+        if (listener == BindingListener.NONE) {
+            bind(target, bound, values);
+            return;
+        }
+        long[] timings = new long[4];
+        try {
+            bind(target, bound, values, timings);
+        } catch (IllegalAccessException e) {
+            listener.onFailure(bound.getName(), values, new UtilArgsException("Binding failed for " + bound.getName(), e));
+            throw e;
+        } catch (UtilArgsException e) {
+            listener.onFailure(bound.getName(), values, e);
+            throw e;
+        }
+        listener.onPhase(BindingListener.Phase.MAP, timings[0], (int) timings[2]);
+        listener.onPhase(BindingListener.Phase.BIND, timings[1], (int) timings[3]);
+    }
+
+    /**
+     * Sets field value on a target object based on list of values and precompiled field data.
+     *
+     * @param target target object.
+     * @param field  bound field of target object's binding plan.
+     * @param values list of values.
+     * @throws IllegalAccessException thrown if reflection field setting fails.
+     */
+    void bind(Object target, BoundField field, List<String> values) throws IllegalAccessException {
+        if (isDirect(field, values)) {
+            bindPrimitive(target, field, selectValue(values));
+            return;
+        }
+        Object value = resolve(values, field);
         if (value != null) {
-            field.setAccessible(true);
             field.set(target, value);
         }
     }
 
-    private Object resolve(List<String> values, Class<?> cls) {
+    /**
+     * Sets field value like {@link #bind(Object, BoundField, List)} and measures it. Primitive fields bound
+     * directly are parsed and written in one step which is added to mapping time.
+     *
+     * @param target  target object.
+     * @param field   bound field of target object's binding plan.
+     * @param values  list of values.
+     * @param timings mapping and writing nanoseconds followed by numbers of mapped and written fields; updated in place.
+     * @throws IllegalAccessException thrown if reflection field setting fails.
+     */
+    void bind(Object target, BoundField field, List<String> values, long[] timings) throws IllegalAccessException {
+        long start = System.nanoTime();
+        if (isDirect(field, values)) {
+            bindPrimitive(target, field, selectValue(values));
+            timings[0] += System.nanoTime() - start;
+            timings[2]++;
+            timings[3]++;
+            return;
+        }
+        Object value = resolve(values, field);
+        long resolved = System.nanoTime();
+        timings[0] += resolved - start;
+        if (value != null) {
+            timings[2]++;
+            field.set(target, value);
+            timings[1] += System.nanoTime() - resolved;
+            timings[3]++;
+        }
+    }
+
+    /**
+     * Checks if a value is parsed and written to a field without boxing. Such fields are bound in a single
+     * step by {@link #bind(Object, BoundField, List)} instead of {@link #resolve(List, BoundField)}.
+     *
+     * @param field  bound field.
+     * @param values list of values.
+     * @return true if field is a primitive reflection based slot, base mapper is used and there are values.
+     */
+    private boolean isDirect(BoundField field, List<String> values) {
+        return field.getKind() == BoundField.Kind.SINGLE && field.getPrimitiveSetter() != null
+                && mapper.getClass() == BaseMapper.class && values != null && !values.isEmpty();
+    }
+
+    private void bindPrimitive(Object target, BoundField field, String value) {
+        Class<?> cls = field.getType();
+        MethodHandle setter = field.getPrimitiveSetter();
+        try {
+            if (cls == int.class) {
+                setter.invokeExact(target, Integer.parseInt(valid(value, cls, Numbers.checkInteger(value, Integer.MIN_VALUE, Integer.MAX_VALUE))));
+            } else if (cls == long.class) {
+                setter.invokeExact(target, Long.parseLong(valid(value, cls, Numbers.checkInteger(value, Long.MIN_VALUE, Long.MAX_VALUE))));
+            } else if (cls == double.class) {
+                setter.invokeExact(target, Double.parseDouble(valid(value, cls, Numbers.checkDecimal(value))));
+            } else if (cls == float.class) {
+                setter.invokeExact(target, Float.parseFloat(valid(value, cls, Numbers.checkDecimal(value))));
+            } else if (cls == short.class) {
+                setter.invokeExact(target, Short.parseShort(valid(value, cls, Numbers.checkInteger(value, Short.MIN_VALUE, Short.MAX_VALUE))));
+            } else if (cls == byte.class) {
+                setter.invokeExact(target, Byte.parseByte(valid(value, cls, Numbers.checkInteger(value, Byte.MIN_VALUE, Byte.MAX_VALUE))));
+            } else if (cls == char.class && value.length() == 1) {
+                setter.invokeExact(target, value.charAt(0));
+            } else {
+                throw cannotMap(value, cls, NOT_A_CHARACTER);
+            }
+        } catch (Throwable e) {
+            throw field.rethrow(e);
+        }
+    }
+
+    /**
+     * Maps values to a field value without setting it.
+     *
+     * @param values list of values.
+     * @param field  bound field.
+     * @return field value or null if there are no values.
+     */
+    Object resolve(List<String> values, BoundField field) {
         if (values == null || values.isEmpty()) {
             return null;
-        } else if (isBoolean(cls)) {
-            return true;
-        } else if (List.class.isAssignableFrom(cls)) {
-            return values;
-        } else if (Set.class.isAssignableFrom(cls)) {
+        }
+        Class<?> cls = field.getType();
+        switch (field.getKind()) {
+            case BOOLEAN:
+                return true;
+            case LIST:
+                return resolveList(values, field);
+            case SET:
+                return resolveSet(values, field);
+            case ARRAY:
+                return resolveArray(values, cls);
+            default:
+                return ensureType(selectValue(values), cls);
+        }
+    }
+
+    private List<?> resolveList(List<String> values, BoundField field) {
+        Class<?> type = field.getElementType();
+        int size = values.size();
+        if (type == String.class) {
+            return new ArrayList<>(values);
+        } else if (field.isCompact() && type == Integer.class) {
+            IntList result = new IntList(size);
+            for (int i = 0; i < size; i++) {
+                result.addInt(toInt(values.get(i), Integer.class));
+            }
+            return result;
+        } else if (field.isCompact() && type == Long.class) {
+            LongList result = new LongList(size);
+            for (int i = 0; i < size; i++) {
+                result.addLong(toLong(values.get(i), Long.class));
+            }
+            return result;
+        } else if (field.isCompact() && type == Double.class) {
+            DoubleList result = new DoubleList(size);
+            for (int i = 0; i < size; i++) {
+                result.addDouble(toDouble(values.get(i), Double.class));
+            }
+            return result;
+        } else {
+            List<Object> result = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                result.add(ensureType(values.get(i), type));
+            }
+            return result;
+        }
+    }
+
+    private Set<?> resolveSet(List<String> values, BoundField field) {
+        Class<?> type = field.getElementType();
+        int size = values.size();
+        if (type == String.class) {
             return new LinkedHashSet<>(values);
-        } else if (cls.isArray()) {
-            Class<?> type = cls.getComponentType();
-            Object array = Array.newInstance(type, values.size());
-            for (int i = 0, size = values.size(); i < size; i++) {
-                Array.set(array, i, ensureType(values.get(i), type));
+        } else if (field.isCompact() && type == Integer.class) {
+            IntSet result = new IntSet(size);
+            for (int i = 0; i < size; i++) {
+                result.addInt(toInt(values.get(i), Integer.class));
+            }
+            return result;
+        } else if (field.isCompact() && type == Long.class) {
+            LongSet result = new LongSet(size);
+            for (int i = 0; i < size; i++) {
+                result.addLong(toLong(values.get(i), Long.class));
             }
+            return result;
+        } else if (field.isCompact() && type == Double.class) {
+            DoubleSet result = new DoubleSet(size);
+            for (int i = 0; i < size; i++) {
+                result.addDouble(toDouble(values.get(i), Double.class));
+            }
+            return result;
+        } else {
+            Set<Object> result = new LinkedHashSet<>(size * 4 / 3 + 1);
+            for (int i = 0; i < size; i++) {
+                result.add(ensureType(values.get(i), type));
+            }
+            return result;
+        }
+    }
+
+    /*
+     * Numeric element parsers avoid boxing and exceptions with the default mapper and fall back to custom mapper otherwise.
+     */
+
+    private int toInt(String value, Class<?> cls) {
+        if (mapper.getClass() != BaseMapper.class) {
+            return ensureType(value, cls, Integer.class);
+        }
+        return Integer.parseInt(valid(value, cls, Numbers.checkInteger(value, Integer.MIN_VALUE, Integer.MAX_VALUE)));
+    }
+
+    private long toLong(String value, Class<?> cls) {
+        if (mapper.getClass() != BaseMapper.class) {
+            return ensureType(value, cls, Long.class);
+        }
+        return Long.parseLong(valid(value, cls, Numbers.checkInteger(value, Long.MIN_VALUE, Long.MAX_VALUE)));
+    }
+
+    private double toDouble(String value, Class<?> cls) {
+        if (mapper.getClass() != BaseMapper.class) {
+            return ensureType(value, cls, Double.class);
+        }
+        return Double.parseDouble(valid(value, cls, Numbers.checkDecimal(value)));
+    }
+
+    private float toFloat(String value, Class<?> cls) {
+        if (mapper.getClass() != BaseMapper.class) {
+            return ensureType(value, cls, Float.class);
+        }
+        return Float.parseFloat(valid(value, cls, Numbers.checkDecimal(value)));
+    }
+
+    private short toShort(String value, Class<?> cls) {
+        if (mapper.getClass() != BaseMapper.class) {
+            return ensureType(value, cls, Short.class);
+        }
+        return Short.parseShort(valid(value, cls, Numbers.checkInteger(value, Short.MIN_VALUE, Short.MAX_VALUE)));
+    }
+
+    private byte toByte(String value, Class<?> cls) {
+        if (mapper.getClass() != BaseMapper.class) {
+            return ensureType(value, cls, Byte.class);
+        }
+        return Byte.parseByte(valid(value, cls, Numbers.checkInteger(value, Byte.MIN_VALUE, Byte.MAX_VALUE)));
+    }
+
+    private char toChar(String value, Class<?> cls) {
+        if (mapper.getClass() != BaseMapper.class) {
+            return ensureType(value, cls, Character.class);
+        } else if (value.length() != 1) {
+            throw cannotMap(value, cls, NOT_A_CHARACTER);
+        }
+        return value.charAt(0);
+    }
+
+    private boolean toBoolean(String value, Class<?> cls) {
+        if (mapper.getClass() != BaseMapper.class) {
+            return ensureType(value, cls, Boolean.class);
+        }
+        return Boolean.parseBoolean(value);
+    }
+
+    /*
+     * Arrays of primitives are filled by loops specialized per component type. Large arrays are filled in parallel.
+     */
+
+    private Object resolveArray(List<String> values, Class<?> cls) {
+        Class<?> type = cls.getComponentType();
+        int size = values.size();
+        boolean base = mapper.getClass() == BaseMapper.class;
+        int threshold = getParallelThreshold(base);
+        if (type == int.class) {
+            int[] array = new int[size];
+            ArrayFill.fill(size, threshold, (from, to) -> {
+                for (int i = from; i < to; i++) {
+                    array[i] = toInt(values.get(i), int.class);
+                }
+            });
+            return array;
+        } else if (type == long.class) {
+            long[] array = new long[size];
+            ArrayFill.fill(size, threshold, (from, to) -> {
+                for (int i = from; i < to; i++) {
+                    array[i] = toLong(values.get(i), long.class);
+                }
+            });
+            return array;
+        } else if (type == double.class) {
+            double[] array = new double[size];
+            ArrayFill.fill(size, threshold, (from, to) -> {
+                for (int i = from; i < to; i++) {
+                    array[i] = toDouble(values.get(i), double.class);
+                }
+            });
+            return array;
+        } else if (type == float.class) {
+            float[] array = new float[size];
+            ArrayFill.fill(size, threshold, (from, to) -> {
+                for (int i = from; i < to; i++) {
+                    array[i] = toFloat(values.get(i), float.class);
+                }
+            });
+            return array;
+        } else if (type == short.class) {
+            short[] array = new short[size];
+            ArrayFill.fill(size, threshold, (from, to) -> {
+                for (int i = from; i < to; i++) {
+                    array[i] = toShort(values.get(i), short.class);
+                }
+            });
+            return array;
+        } else if (type == byte.class) {
+            byte[] array = new byte[size];
+            ArrayFill.fill(size, threshold, (from, to) -> {
+                for (int i = from; i < to; i++) {
+                    array[i] = toByte(values.get(i), byte.class);
+                }
+            });
+            return array;
+        } else if (type == char.class) {
+            char[] array = new char[size];
+            ArrayFill.fill(size, threshold, (from, to) -> {
+                for (int i = from; i < to; i++) {
+                    array[i] = toChar(values.get(i), char.class);
+                }
+            });
+            return array;
+        } else if (type == boolean.class) {
+            boolean[] array = new boolean[size];
+            ArrayFill.fill(size, threshold, (from, to) -> {
+                for (int i = from; i < to; i++) {
+                    array[i] = toBoolean(values.get(i), boolean.class);
+                }
+            });
             return array;
         } else {
-            return ensureType(selectValue(values), cls);
+            Object[] array = (Object[]) Array.newInstance(type, size);
+            ArrayFill.fill(size, threshold, (from, to) -> {
+                for (int i = from; i < to; i++) {
+                    array[i] = ensureType(values.get(i), type);
+                }
+            });
+            return array;
         }
     }
 
-    private boolean isBoolean(Class<?> cls) {
-        return cls.equals(boolean.class) || cls.equals(Boolean.class);
+    /*
+     * Custom mappers are not required to be thread-safe so they are called from pool threads only on request.
+     */
+    private int getParallelThreshold(boolean base) {
+        if (parallelThreshold > 0) {
+            return parallelThreshold;
+        } else {
+            return base ? DEFAULT_PARALLEL_THRESHOLD : Integer.MAX_VALUE;
+        }
     }
 
     private Object ensureType(String value, Class<?> cls) {
+        if (mapper instanceof ResultMapper) {
+            MappingResult<?> result = ((ResultMapper) mapper).tryMap(value, cls);
+            if (result.isSuccess()) {
+                return result.getValue();
+            }
+            throw cannotMap(value, cls, result.getReason());
+        }
         Object result = mapper.map(value, cls);
         if (result == null) {
-            throw new UtilArgsException("Cannot map \"" + value + "\" to " + cls.getName());
+            throw cannotMap(value, cls, "invalid value");
         } else {
             return result;
         }
     }
 
+    private <T> T ensureType(String value, Class<?> cls, Class<T> box) {
+        Object result = ensureType(value, cls);
+        if (box.isInstance(result)) {
+            return box.cast(result);
+        }
+        throw cannotMap(value, cls, "mapped to " + result.getClass().getName());
+    }
+
+    private static String valid(String value, Class<?> cls, String reason) {
+        if (reason != null) {
+            throw cannotMap(value, cls, reason);
+        }
+        return value;
+    }
+
+    private static UtilArgsException cannotMap(String value, Class<?> cls, String reason) {
+        return new MappingException(value, cls, reason);
+    }
+
     private String selectValue(List<String> values) {
         if (useFirst) {
             return values.get(0);
         } else if (useLast) {
             return values.get(values.size() - 1);
         } else {
-            throw new UtilArgsException("Cannot select single value from [" + String.join(",", values) + "]");
+            String joined = String.join(",", values);
+            throw new MappingException("Cannot select single value from [" + joined + "]", joined, null, "ambiguous values");
         }
     }
 
@@ -126,4 +488,30 @@ public class Binder {
         this.mapper = mapper;
         return this;
     }
+
+    /**
+     * Sets minimal number of values of an array field converted in parallel by using common fork/join pool.
+     * Elements order is kept and the error of the first invalid value is thrown. By default only arrays
+     * mapped by {@link BaseMapper} are converted in parallel. Setting the threshold enables parallel
+     * conversion for custom mappers as well, which then must be thread-safe.
+     *
+     * @param parallelThreshold minimal number of values; {@link Integer#MAX_VALUE} to disable parallel conversion.
+     * @return binder object.
+     */
+    public Binder withParallelThreshold(int parallelThreshold) {
+        this.parallelThreshold = parallelThreshold;
+        return this;
+    }
+
+    /**
+     * Reports mapping and writing times and binding failures of each {@link #bind(Object, Field, List)}
+     * call to a listener. Timings are not measured if {@link BindingListener#NONE} is used.
+     *
+     * @param listener binding listener.
+     * @return binder object.
+     */
+    public Binder withListener(BindingListener listener) {
+        this.listener = listener;
+        return this;
+    }
 }
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2020 Krzysztof Smigielski
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.nilcaream.utilargs;
+
+/**
+ * Single binding error collected when error collection is enabled. Errors are plain values
+ * so collecting them does not involve stack traces.
+ */
+public final class BindingError {
+
+    private final String field;
+    private final String key;
+    private final String value;
+    private final String reason;
+
+    BindingError(String field, String key, String value, String reason) {
+        this.field = field;
+        this.key = key;
+        this.value = value;
+        this.reason = reason;
+    }
+
+    /**
+     * Gets name of the field or interface method that could not be bound.
+     *
+     * @return field name.
+     */
+    public String getField() {
+        return field;
+    }
+
+    /**
+     * Gets option key without leading dashes.
+     *
+     * @return Option value or alternative.
+     */
+    public String getKey() {
+        return key;
+    }
+
+    /**
+     * Gets raw value that could not be bound.
+     *
+     * @return raw value; null if error is not related to a single value.
+     */
+    public String getValue() {
+        return value;
+    }
+
+    /**
+     * Gets failure reason e.g. "not a number".
+     *
+     * @return reason.
+     */
+    public String getReason() {
+        return reason;
+    }
+
+    @Override
+    public String toString() {
+        return field + " [" + key + "=" + value + "]: " + reason;
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2020 Krzysztof Smigielski
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.nilcaream.utilargs;
+
+import java.util.List;
+
+/**
+ * Binding metrics listener. Receives aggregated timings of binding phases once per bind invocation,
+ * field binding failures and unknown options. Listener is called from binding threads so it must be
+ * thread-safe if engine is shared. Timings are not measured at all if {@link #NONE} is used.
+ */
+public interface BindingListener {
+
+    /**
+     * No-op listener. Default.
+     */
+    BindingListener NONE = new BindingListener() {
+    };
+
+    /**
+     * Binding phases.
+     */
+    enum Phase {
+        /**
+         * Parsing of arguments; count is number of parsed arguments.
+         */
+        PARSE,
+        /**
+         * Selection of Option values; count is number of fields.
+         */
+        SELECT,
+        /**
+         * Mapping of values to field types; count is number of fields with values. Primitive fields
+         * mapped by the default mapper are parsed and written in one step without boxing so their
+         * write time is included here.
+         */
+        MAP,
+        /**
+         * Writing of field values; count is number of written fields including directly written
+         * primitive fields.
+         */
+        BIND,
+        /**
+         * Operands resolution and delivery; count is number of operands. Operands boundary is
+         * found while parsing so this phase covers creating operands view or streaming operands.
+         */
+        OPERANDS
+    }
+
+    /**
+     * Called once per phase of each bind invocation.
+     *
+     * @param phase binding phase.
+     * @param nanos total time of the phase in nanoseconds.
+     * @param count number of processed elements.
+     */
+    default void onPhase(Phase phase, long nanos, int count) {
+    }
+
+    /**
+     * Called when a field cannot be bound e.g. value cannot be mapped to field type.
+     *
+     * @param field  field or method name.
+     * @param values selected values.
+     * @param error  binding error.
+     */
+    default void onFailure(String field, List<String> values, UtilArgsException error) {
+    }
+
+    /**
+     * Called for each parsed key that does not match any Option of target objects.
+     *
+     * @param key option key without leading dashes.
+     */
+    default void onUnknownOption(String key) {
+    }
+}
@@ -0,0 +1,163 @@
+/*
+ * Copyright 2020 Krzysztof Smigielski
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.nilcaream.utilargs;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Compiled per-class binding plan. Annotated fields are scanned once per target class
+ * and reused by all subsequent binding invocations. Compile-time generated binder is used
+ * instead of reflective field scanning and field writes if available; values are still
+ * converted by the mapper. Plan of an interface consists of annotated no-argument
+ * methods which are bound to a single element Object[] holder.
+ */
+final class BindingPlan {
+
+    private static final ClassValue<BindingPlan> PLANS = new ClassValue<BindingPlan>() {
+        @Override
+        protected BindingPlan computeValue(Class<?> type) {
+            return new BindingPlan(type);
+        }
+    };
+
+    private static final MethodHandle GENERATED_SETTER = findGeneratedSetter();
+    private static final MethodHandle HOLDER_SETTER = MethodHandles.insertArguments(
+            MethodHandles.arrayElementSetter(Object[].class), 1, 0);
+
+    private final List<BoundField> fields;
+    private final OptionKeys keys;
+    private final boolean generated;
+
+    private BindingPlan(Class<?> type) {
+        GeneratedBinder<?> generatedBinder = type.isInterface() ? null : findGeneratedBinder(type);
+        List<BoundField> result = new ArrayList<>();
+        if (type.isInterface()) {
+            for (Method method : type.getMethods()) {
+                Option option = method.getAnnotation(Option.class);
+                if (option != null && method.getParameterCount() == 0 && method.getReturnType() != void.class) {
+                    result.add(BoundField.of(method.getName(), option, method.getReturnType(),
+                            BoundField.getElementType(method.getGenericReturnType()), HOLDER_SETTER));
+                }
+            }
+        } else if (generatedBinder == null) {
+            for (Field field : type.getDeclaredFields()) {
+                Option option = field.getAnnotation(Option.class);
+                if (option != null) {
+                    result.add(BoundField.of(field, option));
+                }
+            }
+        } else {
+            List<GeneratedBinder.Slot> slots = generatedBinder.getSlots();
+            for (int index = 0, size = slots.size(); index < size; index++) {
+                GeneratedBinder.Slot slot = slots.get(index);
+                MethodHandle setter = MethodHandles.insertArguments(GENERATED_SETTER.bindTo(generatedBinder), 1, index);
+                result.add(BoundField.of(slot.name, slot.option, slot.type, slot.elementType, setter));
+            }
+        }
+        this.fields = Collections.unmodifiableList(result);
+        this.keys = new OptionKeys(result);
+        this.generated = generatedBinder != null;
+    }
+
+    /*
+     * Missing binder means reflection is used. Binder that exists but cannot be loaded or created is an error.
+     */
+    private static GeneratedBinder<?> findGeneratedBinder(Class<?> type) {
+        String name = GeneratedBinder.getName(type);
+        try {
+            Class<?> binderClass = Class.forName(name, true, type.getClassLoader());
+            if (GeneratedBinder.class.isAssignableFrom(binderClass)) {
+                return (GeneratedBinder<?>) binderClass.getConstructor().newInstance();
+            }
+        } catch (ClassNotFoundException ignore) {
+            // fall back to reflection
+        } catch (ReflectiveOperationException | LinkageError e) {
+            throw new UtilArgsException("Cannot use generated binder " + name, e);
+        }
+        return null;
+    }
+
+    private static MethodHandle findGeneratedSetter() {
+        try {
+            return MethodHandles.lookup().findVirtual(GeneratedBinder.class, "set",
+                    MethodType.methodType(void.class, Object.class, int.class, Object.class));
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Gets cached binding plan of a given class.
+     *
+     * @param type target class.
+     * @return binding plan; non-null.
+     */
+    static BindingPlan of(Class<?> type) {
+        return PLANS.get(type);
+    }
+
+    /**
+     * Gets bound field of a given field. Uses cached binding plan for Option annotated fields.
+     * Fields of generated binders are matched by name as they are bound without reflection.
+     *
+     * @param field field of a target class.
+     * @return bound field; non-null.
+     */
+    static BoundField find(Field field) {
+        BindingPlan plan = of(field.getDeclaringClass());
+        for (BoundField boundField : plan.fields) {
+            if (plan.generated ? field.getName().equals(boundField.getName()) : field.equals(boundField.getField())) {
+                return boundField;
+            }
+        }
+        return BoundField.of(field, field.getAnnotation(Option.class));
+    }
+
+    /**
+     * Gets option keys of the target class.
+     *
+     * @return option keys.
+     */
+    OptionKeys getKeys() {
+        return keys;
+    }
+
+    /**
+     * Indicates whether this plan is backed by a compile-time generated binder.
+     *
+     * @return true if generated binder is used.
+     */
+    boolean isGenerated() {
+        return generated;
+    }
+
+    /**
+     * Gets all Option annotated fields of the target class.
+     *
+     * @return unmodifiable list of bound fields.
+     */
+    List<BoundField> getFields() {
+        return fields;
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2020 Krzysztof Smigielski
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.nilcaream.utilargs;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Result of binding a single arguments vector in a batch.
+ *
+ * @param <T> target type.
+ */
+public final class BindingResult<T> {
+
+    private final T target;
+    private final List<String> operandList;
+    private final RuntimeException error;
+    private final List<BindingError> errors;
+    private String operands;
+
+    BindingResult(T target, List<String> operandList, RuntimeException error) {
+        this(target, operandList, error, Collections.emptyList());
+    }
+
+    BindingResult(T target, List<String> operandList, RuntimeException error, List<BindingError> errors) {
+        this.target = target;
+        this.operandList = operandList;
+        this.error = error;
+        this.errors = errors;
+    }
+
+    /**
+     * Gets target object. Target can be partially bound if binding failed.
+     *
+     * @return target object; null if target could not be created.
+     */
+    public T getTarget() {
+        return target;
+    }
+
+    /**
+     * Gets operands i.e. arguments that follow options joined with a space. Joined string is
+     * created on first call.
+     *
+     * @return operands or empty string; null if binding failed.
+     * @see #getOperandList()
+     */
+    public String getOperands() {
+        if (operands == null && operandList != null) {
+            operands = String.join(" ", operandList);
+        }
+        return operands;
+    }
+
+    /**
+     * Gets operands i.e. arguments that follow options as a view of original arguments.
+     *
+     * @return unmodifiable list of operands; null if binding failed.
+     */
+    public List<String> getOperandList() {
+        return operandList;
+    }
+
+    /**
+     * Gets binding error.
+     *
+     * @return error or null if binding succeeded.
+     */
+    public RuntimeException getError() {
+        return error;
+    }
+
+    /**
+     * Gets binding errors collected if error collection is enabled.
+     *
+     * @return unmodifiable list of errors in binding order; empty if there are no errors or collection is disabled.
+     * @see UtilArgsEngine#withErrorCollection(boolean)
+     */
+    public List<BindingError> getErrors() {
+        return errors;
+    }
+
+    /**
+     * Checks if binding succeeded.
+     *
+     * @return true if there is no error and no collected errors.
+     */
+    public boolean isSuccess() {
+        return error == null && errors.isEmpty();
+    }
+}
@@ -0,0 +1,320 @@
+/*
+ * Copyright 2020 Krzysztof Smigielski
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.nilcaream.utilargs;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.WildcardType;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Single binding slot of a target class. Holds all field related data that does not
+ * change between binding invocations.
+ */
+final class BoundField {
+
+    enum Kind {
+        BOOLEAN, LIST, SET, ARRAY, SINGLE
+    }
+
+    private final Field field;
+    private final String name;
+    private final Option option;
+    private final String value;
+    private final String alternative;
+    private final Class<?> type;
+    private final Class<?> elementType;
+    private final boolean compact;
+    private final Kind kind;
+    private final String[] fallbackKeys;
+    private final String[] variableNames;
+    private final MethodHandle setter;
+    private final MethodHandle primitiveSetter;
+    private final IllegalAccessException setterError;
+
+    private BoundField(Field field, String name, Option option, Class<?> type, Class<?> elementType,
+                       MethodHandle handle, IllegalAccessException error) {
+        this.field = field;
+        this.name = name;
+        this.option = option;
+        this.value = option == null ? "" : option.value();
+        this.alternative = option == null ? "" : option.alternative();
+        this.type = type;
+        this.elementType = elementType;
+        this.kind = getKind(type);
+        this.compact = isCompact(kind, type, elementType);
+        this.fallbackKeys = getFallbackKeys(option);
+        this.variableNames = new String[fallbackKeys.length];
+        for (int i = 0; i < fallbackKeys.length; i++) {
+            variableNames[i] = SnapshotValuesSource.toVariableName(fallbackKeys[i]);
+        }
+        this.setter = handle == null ? null : handle.asType(MethodType.methodType(void.class, Object.class, Object.class));
+        this.primitiveSetter = handle == null || field == null || !type.isPrimitive() ? null
+                : handle.asType(MethodType.methodType(void.class, Object.class, type));
+        this.setterError = error;
+    }
+
+    /**
+     * Creates reflection based slot. Setter method handle is resolved immediately.
+     *
+     * @param field  target class field.
+     * @param option field's Option; can be null.
+     * @return bound field.
+     */
+    static BoundField of(Field field, Option option) {
+        MethodHandle handle = null;
+        IllegalAccessException error = null;
+        try {
+            field.setAccessible(true);
+            handle = MethodHandles.lookup().unreflectSetter(field);
+            if (Modifier.isStatic(field.getModifiers())) {
+                handle = MethodHandles.dropArguments(handle, 0, Object.class);
+            }
+        } catch (IllegalAccessException e) {
+            error = e;
+        }
+        return new BoundField(field, field.getName(), option, field.getType(), getElementType(field.getGenericType()), handle, error);
+    }
+
+    /**
+     * Creates slot backed by a custom setter e.g. generated binder.
+     *
+     * @param name   field name.
+     * @param option field's Option.
+     * @param type        field type.
+     * @param elementType collection element type; String if not known.
+     * @param setter      (Object, Object)void method handle.
+     * @return bound field.
+     */
+    static BoundField of(String name, Option option, Class<?> type, Class<?> elementType, MethodHandle setter) {
+        return new BoundField(null, name, option, type, elementType, setter, null);
+    }
+
+    /**
+     * Gets element type of a generic collection type. Wildcards are resolved to their upper bounds.
+     *
+     * @param type generic type e.g. List&lt;Integer&gt;.
+     * @return element class; String for raw types and type variables.
+     */
+    static Class<?> getElementType(Type type) {
+        if (type instanceof ParameterizedType) {
+            Type[] arguments = ((ParameterizedType) type).getActualTypeArguments();
+            Type argument = arguments.length == 1 ? arguments[0] : null;
+            if (argument instanceof WildcardType) {
+                argument = ((WildcardType) argument).getUpperBounds()[0];
+            }
+            if (argument instanceof ParameterizedType) {
+                argument = ((ParameterizedType) argument).getRawType();
+            }
+            if (argument instanceof Class && argument != Object.class) {
+                return (Class<?>) argument;
+            }
+        }
+        return String.class;
+    }
+
+    private static String[] getFallbackKeys(Option option) {
+        if (option == null) {
+            return new String[0];
+        } else if (option.value().isEmpty()) {
+            return option.alternative().isEmpty() ? new String[0] : new String[]{option.alternative()};
+        } else {
+            return option.alternative().isEmpty() ? new String[]{option.value()} : new String[]{option.alternative(), option.value()};
+        }
+    }
+
+    private static boolean isCompact(Kind kind, Class<?> type, Class<?> elementType) {
+        if (kind == Kind.LIST) {
+            return elementType == Integer.class && type.isAssignableFrom(IntList.class)
+                    || elementType == Long.class && type.isAssignableFrom(LongList.class)
+                    || elementType == Double.class && type.isAssignableFrom(DoubleList.class);
+        } else if (kind == Kind.SET) {
+            return elementType == Integer.class && type.isAssignableFrom(IntSet.class)
+                    || elementType == Long.class && type.isAssignableFrom(LongSet.class)
+                    || elementType == Double.class && type.isAssignableFrom(DoubleSet.class);
+        } else {
+            return false;
+        }
+    }
+
+    private static Kind getKind(Class<?> cls) {
+        if (isBoolean(cls)) {
+            return Kind.BOOLEAN;
+        } else if (List.class.isAssignableFrom(cls)) {
+            return Kind.LIST;
+        } else if (Set.class.isAssignableFrom(cls)) {
+            return Kind.SET;
+        } else if (cls.isArray()) {
+            return Kind.ARRAY;
+        } else {
+            return Kind.SINGLE;
+        }
+    }
+
+    static boolean isBoolean(Class<?> cls) {
+        return cls.equals(boolean.class) || cls.equals(Boolean.class);
+    }
+
+    /**
+     * Sets field value on a target object by using method handle resolved once per field.
+     *
+     * @param target target object; ignored for static fields.
+     * @param value  field value; primitive wrapper for primitive fields.
+     * @throws IllegalAccessException thrown if field cannot be written e.g. is static final.
+     */
+    void set(Object target, Object value) throws IllegalAccessException {
+        if (setter == null) {
+            throw notWritable();
+        }
+        try {
+            setter.invokeExact(target, value);
+        } catch (ClassCastException e) {
+            throw new IllegalArgumentException("Cannot set " + name + " to " + value, e);
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    /**
+     * Gets setter writing primitive values without boxing e.g. (Object, int)void for int fields.
+     * Available only for reflection based slots of primitive fields; slots backed by generated
+     * binders or interface proxies box values anyway.
+     *
+     * @return primitive setter or null if not available.
+     */
+    MethodHandle getPrimitiveSetter() {
+        return primitiveSetter;
+    }
+
+    /**
+     * Converts a failure of a setter invocation to an unchecked exception.
+     *
+     * @param e setter failure.
+     * @return runtime exception to throw.
+     */
+    RuntimeException rethrow(Throwable e) {
+        if (e instanceof RuntimeException) {
+            return (RuntimeException) e;
+        } else if (e instanceof Error) {
+            throw (Error) e;
+        } else {
+            return new UtilArgsException("Binding failed for " + name, e);
+        }
+    }
+
+    /*
+     * Cached error is only a cause so that every failure has its own stack trace and suppressed exceptions.
+     */
+    private IllegalAccessException notWritable() {
+        IllegalAccessException error = new IllegalAccessException(setterError.getMessage());
+        error.initCause(setterError);
+        return error;
+    }
+
+    /**
+     * Gets reflection field of this slot.
+     *
+     * @return field or null if this slot is backed by a generated binder.
+     */
+    Field getField() {
+        return field;
+    }
+
+    String getName() {
+        return name;
+    }
+
+    Option getOption() {
+        return option;
+    }
+
+    /**
+     * Gets Option value read once per field so values selection does not call annotation methods.
+     *
+     * @return option key; empty if not set.
+     */
+    String getValue() {
+        return value;
+    }
+
+    /**
+     * Gets Option alternative read once per field.
+     *
+     * @return alternative option key; empty if not set.
+     */
+    String getAlternative() {
+        return alternative;
+    }
+
+    Class<?> getType() {
+        return type;
+    }
+
+    /**
+     * Gets non-empty Option alternative and value in order of fallback sources lookup.
+     *
+     * @return keys; must not be modified.
+     */
+    String[] getFallbackKeys() {
+        return fallbackKeys;
+    }
+
+    /**
+     * Gets environment variable names of fallback keys computed once per field.
+     *
+     * @return variable names in fallback keys order; must not be modified.
+     */
+    String[] getVariableNames() {
+        return variableNames;
+    }
+
+    Kind getKind() {
+        return kind;
+    }
+
+    /**
+     * Gets element type of a collection field.
+     *
+     * @return element type; String if not known or not a collection.
+     */
+    Class<?> getElementType() {
+        return elementType;
+    }
+
+    /**
+     * Indicates whether collection field accepts primitive-backed list or set of its element type.
+     *
+     * @return true if IntList, LongList, DoubleList or a set equivalent can be assigned.
+     */
+    boolean isCompact() {
+        return compact;
+    }
+
+    boolean isPrimitive() {
+        return type.isPrimitive();
+    }
+
+    boolean isBoolean() {
+        return kind == Kind.BOOLEAN;
+    }
+}
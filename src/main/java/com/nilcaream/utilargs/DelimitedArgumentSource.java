@@ -0,0 +1,127 @@
+/*
+ * Copyright 2020 Krzysztof Smigielski
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.nilcaream.utilargs;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.SelectableChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Argument source reading UTF-8 tokens separated by a delimiter byte e.g. output of
+ * find -print0 or xargs -0 compatible streams. Input is read in buffered chunks and only
+ * a single token is held in memory at a time. Trailing delimiter does not produce an
+ * empty argument. Channel has to be blocking so that each read waits for input.
+ */
+public class DelimitedArgumentSource implements ArgumentSource, Closeable {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final ReadableByteChannel channel;
+    private final byte delimiter;
+    private final ByteBuffer buffer;
+    private byte[] token = new byte[256];
+    private boolean end;
+
+    /**
+     * Creates source reading from a blocking channel.
+     *
+     * @param channel   channel to read from; selectable channels must be in blocking mode.
+     * @param delimiter arguments delimiter.
+     * @throws IllegalArgumentException thrown if channel is in non-blocking mode.
+     */
+    public DelimitedArgumentSource(ReadableByteChannel channel, byte delimiter) {
+        if (channel instanceof SelectableChannel && !((SelectableChannel) channel).isBlocking()) {
+            throw new IllegalArgumentException("Channel must be in blocking mode");
+        }
+        this.channel = channel;
+        this.delimiter = delimiter;
+        this.buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        this.buffer.flip();
+    }
+
+    /**
+     * Creates source of NUL-delimited arguments.
+     *
+     * @param inputStream input stream e.g. System.in.
+     * @return argument source.
+     */
+    public static DelimitedArgumentSource nulDelimited(InputStream inputStream) {
+        return new DelimitedArgumentSource(Channels.newChannel(inputStream), (byte) 0);
+    }
+
+    /**
+     * Creates source of newline-delimited arguments. Carriage return preceding newline is skipped.
+     *
+     * @param inputStream input stream e.g. System.in.
+     * @return argument source.
+     */
+    public static DelimitedArgumentSource newlineDelimited(InputStream inputStream) {
+        return new DelimitedArgumentSource(Channels.newChannel(inputStream), (byte) '\n');
+    }
+
+    @Override
+    public String next() throws IOException {
+        int length = 0;
+        while (true) {
+            if (!buffer.hasRemaining() && !fill()) {
+                return length == 0 ? null : decode(length);
+            }
+            while (buffer.hasRemaining()) {
+                byte b = buffer.get();
+                if (b == delimiter) {
+                    return decode(length);
+                }
+                if (length == token.length) {
+                    token = Arrays.copyOf(token, length * 2);
+                }
+                token[length++] = b;
+            }
+        }
+    }
+
+    private boolean fill() throws IOException {
+        if (end) {
+            return false;
+        }
+        buffer.clear();
+        int read = 0;
+        while (read == 0) {
+            read = channel.read(buffer);
+        }
+        buffer.flip();
+        end = read < 0;
+        return !end;
+    }
+
+    private String decode(int length) {
+        if (delimiter == '\n' && length > 0 && token[length - 1] == '\r') {
+            length--;
+        }
+        return new String(token, 0, length, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,147 @@
+/*
+ * Copyright 2020 Krzysztof Smigielski
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.nilcaream.utilargs;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.RandomAccess;
+
+/**
+ * Growable list of double values backed by a primitive array. Elements are boxed only when accessed
+ * via List methods so large lists of numbers do not hold Double objects. Null elements are not permitted.
+ */
+final class DoubleList extends AbstractList<Double> implements RandomAccess {
+
+    private double[] values;
+    private int size;
+
+    /**
+     * Creates empty list.
+     */
+    public DoubleList() {
+        this(10);
+    }
+
+    /**
+     * Creates empty list of a given initial capacity.
+     *
+     * @param capacity initial capacity.
+     */
+    public DoubleList(int capacity) {
+        values = new double[capacity];
+    }
+
+    /**
+     * Gets element without boxing.
+     *
+     * @param index element index.
+     * @return element.
+     */
+    public double getDouble(int index) {
+        checkIndex(index);
+        return values[index];
+    }
+
+    /**
+     * Appends element without boxing.
+     *
+     * @param value element.
+     */
+    public void addDouble(double value) {
+        ensureCapacity(size + 1);
+        values[size++] = value;
+        modCount++;
+    }
+
+    /**
+     * Copies elements to an array.
+     *
+     * @return new array of elements.
+     */
+    public double[] toDoubleArray() {
+        return Arrays.copyOf(values, size);
+    }
+
+    @Override
+    public Double get(int index) {
+        return getDouble(index);
+    }
+
+    @Override
+    public Double set(int index, Double element) {
+        double previous = getDouble(index);
+        values[index] = element;
+        return previous;
+    }
+
+    @Override
+    public void add(int index, Double element) {
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        double value = element;
+        ensureCapacity(size + 1);
+        System.arraycopy(values, index, values, index + 1, size - index);
+        values[index] = value;
+        size++;
+        modCount++;
+    }
+
+    @Override
+    public Double remove(int index) {
+        double previous = getDouble(index);
+        System.arraycopy(values, index + 1, values, index, size - index - 1);
+        size--;
+        modCount++;
+        return previous;
+    }
+
+    @Override
+    public int indexOf(Object object) {
+        if (object instanceof Double) {
+            double value = (Double) object;
+            for (int index = 0; index < size; index++) {
+                if (Double.doubleToLongBits(values[index]) == Double.doubleToLongBits(value)) {
+                    return index;
+                }
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public boolean contains(Object object) {
+        return indexOf(object) != -1;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > values.length) {
+            values = Arrays.copyOf(values, Math.max(capacity, values.length * 2));
+        }
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+}
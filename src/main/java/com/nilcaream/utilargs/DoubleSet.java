@@ -0,0 +1,269 @@
+/*
+ * Copyright 2020 Krzysztof Smigielski
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.nilcaream.utilargs;
+
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Insertion-ordered set of double values backed by primitive arrays and an open addressing table.
+ * Elements are boxed only when accessed via Set methods. Removed elements are marked and dropped
+ * from the arrays when the set grows. Null elements are not permitted.
+ */
+final class DoubleSet extends AbstractSet<Double> {
+
+    private double[] values;
+    private boolean[] removed;
+    private int[] table;
+    private int size;
+    private int count;
+    private int modCount;
+
+    /**
+     * Creates empty set.
+     */
+    public DoubleSet() {
+        this(8);
+    }
+
+    /**
+     * Creates empty set of a given initial capacity.
+     *
+     * @param capacity initial capacity.
+     */
+    public DoubleSet(int capacity) {
+        values = new double[Math.max(capacity, 1)];
+        table = new int[Integer.highestOneBit(Math.max(capacity, 1) * 2) * 2];
+    }
+
+    /**
+     * Adds element without boxing.
+     *
+     * @param value element.
+     * @return true if set did not contain the element.
+     */
+    public boolean addDouble(double value) {
+        if (find(value) != -1) {
+            return false;
+        }
+        if (size == values.length) {
+            if (count < size) {
+                compact();
+            } else {
+                values = Arrays.copyOf(values, size * 2);
+                removed = removed == null ? null : Arrays.copyOf(removed, size * 2);
+            }
+        }
+        values[size++] = value;
+        count++;
+        modCount++;
+        if (size * 2 > table.length) {
+            rehash(table.length * 2);
+        } else {
+            insert(size - 1, table);
+        }
+        return true;
+    }
+
+    /**
+     * Checks if set contains element without boxing.
+     *
+     * @param value element.
+     * @return true if set contains the element.
+     */
+    public boolean containsDouble(double value) {
+        return find(value) != -1;
+    }
+
+    /**
+     * Removes element without boxing.
+     *
+     * @param value element.
+     * @return true if set contained the element.
+     */
+    public boolean removeDouble(double value) {
+        int slot = find(value);
+        if (slot == -1) {
+            return false;
+        }
+        if (removed == null) {
+            removed = new boolean[values.length];
+        }
+        removed[table[slot] - 1] = true;
+        delete(slot);
+        count--;
+        modCount++;
+        return true;
+    }
+
+    /**
+     * Copies elements to an array in insertion order.
+     *
+     * @return new array of elements.
+     */
+    public double[] toDoubleArray() {
+        if (count == size) {
+            return Arrays.copyOf(values, size);
+        }
+        double[] result = new double[count];
+        for (int id = 0, index = 0; id < size; id++) {
+            if (!removed[id]) {
+                result[index++] = values[id];
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public boolean add(Double element) {
+        return addDouble(element);
+    }
+
+    @Override
+    public boolean contains(Object object) {
+        return object instanceof Double && containsDouble((Double) object);
+    }
+
+    @Override
+    public boolean remove(Object object) {
+        return object instanceof Double && removeDouble((Double) object);
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(table, 0);
+        removed = null;
+        size = 0;
+        count = 0;
+        modCount++;
+    }
+
+    @Override
+    public Iterator<Double> iterator() {
+        return new Iterator<Double>() {
+            private int expectedModCount = modCount;
+            private int index = skipRemoved(0);
+            private int last = -1;
+
+            @Override
+            public boolean hasNext() {
+                return index < size;
+            }
+
+            @Override
+            public Double next() {
+                if (expectedModCount != modCount) {
+                    throw new ConcurrentModificationException();
+                } else if (index >= size) {
+                    throw new NoSuchElementException();
+                }
+                last = index;
+                index = skipRemoved(index + 1);
+                return values[last];
+            }
+
+            @Override
+            public void remove() {
+                if (last == -1) {
+                    throw new IllegalStateException();
+                } else if (expectedModCount != modCount) {
+                    throw new ConcurrentModificationException();
+                }
+                removeDouble(values[last]);
+                expectedModCount = modCount;
+                last = -1;
+            }
+        };
+    }
+
+    @Override
+    public int size() {
+        return count;
+    }
+
+    private int skipRemoved(int id) {
+        while (removed != null && id < size && removed[id]) {
+            id++;
+        }
+        return id;
+    }
+
+    private int find(double value) {
+        int mask = table.length - 1;
+        for (int slot = hash(value) & mask, id = table[slot] - 1; id != -1; slot = (slot + 1) & mask, id = table[slot] - 1) {
+            if (Double.doubleToLongBits(values[id]) == Double.doubleToLongBits(value)) {
+                return slot;
+            }
+        }
+        return -1;
+    }
+
+    private void insert(int id, int[] target) {
+        int mask = target.length - 1;
+        int slot = hash(values[id]) & mask;
+        while (target[slot] != 0) {
+            slot = (slot + 1) & mask;
+        }
+        target[slot] = id + 1;
+    }
+
+    /*
+     * Backward shift deletion keeps probe sequences of linear probing without tombstones in the table.
+     */
+    private void delete(int slot) {
+        int mask = table.length - 1;
+        int hole = slot;
+        for (int next = (hole + 1) & mask; table[next] != 0; next = (next + 1) & mask) {
+            int home = hash(values[table[next] - 1]) & mask;
+            if (((next - home) & mask) >= ((next - hole) & mask)) {
+                table[hole] = table[next];
+                hole = next;
+            }
+        }
+        table[hole] = 0;
+    }
+
+    private void compact() {
+        int index = 0;
+        for (int id = 0; id < size; id++) {
+            if (!removed[id]) {
+                values[index++] = values[id];
+            }
+        }
+        size = index;
+        removed = null;
+        rehash(table.length);
+    }
+
+    private void rehash(int capacity) {
+        int[] result = new int[capacity];
+        for (int id = 0; id < size; id++) {
+            if (removed == null || !removed[id]) {
+                insert(id, result);
+            }
+        }
+        table = result;
+    }
+
+    private static int hash(double value) {
+        int hash = Double.hashCode(value) * 0x9E3779B9;
+        return hash ^ (hash >>> 16);
+    }
+}
@@ -0,0 +1,179 @@
+/*
+ * Copyright 2020 Krzysztof Smigielski
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.nilcaream.utilargs;
+
+/**
+ * Lookup table of enum constants built once per enum type. Constants are found by a hash probe
+ * so unknown values are reported as null without invoking valueOf and catching its exception.
+ * Case-insensitive lookup compares characters the same way as
+ * {@link String#regionMatches(boolean, int, String, int, int)}. Prefix tables are built on first
+ * prefix lookup; ambiguous prefixes do not match any constant.
+ */
+final class EnumLookup {
+
+    private static final ClassValue<EnumLookup> LOOKUPS = new ClassValue<EnumLookup>() {
+        @Override
+        protected EnumLookup computeValue(Class<?> type) {
+            return new EnumLookup(type.getEnumConstants());
+        }
+    };
+
+    private static final int NONE = -1;
+
+    private final Object[] constants;
+    private final String[] names;
+    private final Table exact;
+    private final Table ignoreCase;
+    private volatile Table prefix;
+    private volatile Table prefixIgnoreCase;
+
+    private EnumLookup(Object[] constants) {
+        this.constants = constants;
+        this.names = new String[constants.length];
+        for (int id = 0; id < constants.length; id++) {
+            names[id] = ((Enum<?>) constants[id]).name();
+        }
+        this.exact = new Table(false, false);
+        this.ignoreCase = new Table(true, false);
+    }
+
+    /**
+     * Gets cached lookup of a given enum type.
+     *
+     * @param type enum type.
+     * @return enum lookup; non-null.
+     */
+    static EnumLookup of(Class<?> type) {
+        return LOOKUPS.get(type);
+    }
+
+    /**
+     * Finds enum constant. Exact match takes precedence over case-insensitive match which takes precedence
+     * over prefix match.
+     *
+     * @param value      constant name or its prefix.
+     * @param ignoreCase enable / disable case-insensitive match.
+     * @param prefix     enable / disable unambiguous prefix match.
+     * @return enum constant or null if there is no single matching constant.
+     */
+    Object find(String value, boolean ignoreCase, boolean prefix) {
+        int id = exact.find(value);
+        if (id == NONE && ignoreCase) {
+            id = this.ignoreCase.find(value);
+        }
+        if (id == NONE && prefix) {
+            id = getPrefix().find(value);
+            if (id == NONE && ignoreCase) {
+                id = getPrefixIgnoreCase().find(value);
+            }
+        }
+        return id == NONE ? null : constants[id];
+    }
+
+    private Table getPrefix() {
+        Table result = prefix;
+        if (result == null) {
+            result = new Table(false, true);
+            prefix = result;
+        }
+        return result;
+    }
+
+    private Table getPrefixIgnoreCase() {
+        Table result = prefixIgnoreCase;
+        if (result == null) {
+            result = new Table(true, true);
+            prefixIgnoreCase = result;
+        }
+        return result;
+    }
+
+    private static int hash(String value, int length, boolean ignoreCase) {
+        int hash = 0;
+        for (int index = 0; index < length; index++) {
+            hash = 31 * hash + (ignoreCase ? fold(value.charAt(index)) : value.charAt(index));
+        }
+        return hash ^ (hash >>> 16);
+    }
+
+    private static char fold(char value) {
+        return Character.toLowerCase(Character.toUpperCase(value));
+    }
+
+    /**
+     * Open addressing table of constant names or name prefixes. Entry key is a prefix of a given
+     * length of a constant name so no key strings are created.
+     */
+    private final class Table {
+        private final boolean ignoreCase;
+        private final int[] slots;
+        private final int[] keyIds;
+        private final int[] lengths;
+        private final int[] results;
+        private int size;
+
+        private Table(boolean ignoreCase, boolean prefixes) {
+            this.ignoreCase = ignoreCase;
+            int entries = 0;
+            for (String name : names) {
+                entries += prefixes ? name.length() : 1;
+            }
+            this.slots = new int[Integer.highestOneBit(Math.max(entries, 1) * 2) * 2];
+            this.keyIds = new int[entries];
+            this.lengths = new int[entries];
+            this.results = new int[entries];
+            for (int id = 0; id < names.length; id++) {
+                for (int length = prefixes ? 1 : names[id].length(); length <= names[id].length(); length++) {
+                    add(id, length);
+                }
+            }
+        }
+
+        private void add(int id, int length) {
+            int mask = slots.length - 1;
+            for (int slot = hash(names[id], length, ignoreCase) & mask; ; slot = (slot + 1) & mask) {
+                int entry = slots[slot] - 1;
+                if (entry == -1) {
+                    keyIds[size] = id;
+                    lengths[size] = length;
+                    results[size] = id;
+                    slots[slot] = ++size;
+                    return;
+                } else if (lengths[entry] == length && names[keyIds[entry]].regionMatches(ignoreCase, 0, names[id], 0, length)) {
+                    if (results[entry] != id) {
+                        // ambiguous key
+                        results[entry] = NONE;
+                    }
+                    return;
+                }
+            }
+        }
+
+        private int find(String value) {
+            int length = value.length();
+            int mask = slots.length - 1;
+            for (int slot = hash(value, length, ignoreCase) & mask; ; slot = (slot + 1) & mask) {
+                int entry = slots[slot] - 1;
+                if (entry == -1) {
+                    return NONE;
+                } else if (lengths[entry] == length && names[keyIds[entry]].regionMatches(ignoreCase, 0, value, 0, length)) {
+                    return results[entry];
+                }
+            }
+        }
+    }
+}
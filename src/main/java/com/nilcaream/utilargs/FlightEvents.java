@@ -0,0 +1,213 @@
+/*
+ * Copyright 2020 Krzysztof Smigielski
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.nilcaream.utilargs;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Java Flight Recorder events of binding, mapping and operands resolution. Events are disabled by
+ * default and have to be enabled in recording settings e.g. with
+ * {@code jdk.jfr.Recording.enable("com.nilcaream.utilargs.Bind")}. Event classes are loaded only if
+ * jdk.jfr module is present so UtilArgs still works on runtimes without Flight Recorder. Building
+ * requires JDK 8u262 or newer which ships the jdk.jfr API. Begin methods return null if events are
+ * not recorded and commit methods ignore null events.
+ */
+final class FlightEvents {
+
+    private static final boolean AVAILABLE = isAvailable();
+
+    private FlightEvents() {
+    }
+
+    private static boolean isAvailable() {
+        try {
+            Class.forName("jdk.jfr.Event", false, FlightEvents.class.getClassLoader());
+            return true;
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+
+    static Object beginBind() {
+        return AVAILABLE ? Recorder.beginBind() : null;
+    }
+
+    static void commitBind(Object event, Object[] targets, int arguments, int operands, int failures) {
+        if (event != null) {
+            Recorder.commitBind(event, targets, arguments, operands, failures);
+        }
+    }
+
+    static Object beginMap() {
+        return AVAILABLE ? Recorder.beginMap() : null;
+    }
+
+    static void commitMap(Object event, Class<?> type, boolean mapped) {
+        if (event != null) {
+            Recorder.commitMap(event, type, mapped);
+        }
+    }
+
+    static Object beginOperands() {
+        return AVAILABLE ? Recorder.beginOperands() : null;
+    }
+
+    static void commitOperands(Object event, Object[] targets, int arguments, int operandsIndex) {
+        if (event != null) {
+            Recorder.commitOperands(event, targets, arguments, operandsIndex);
+        }
+    }
+
+    /**
+     * Only this class references event types; it is loaded if jdk.jfr is available.
+     */
+    private static final class Recorder {
+
+        // event types are checked before allocation so disabled events cost no garbage per call
+        private static final EventType BIND = EventType.getEventType(BindEvent.class);
+        private static final EventType MAP = EventType.getEventType(MapEvent.class);
+        private static final EventType OPERANDS = EventType.getEventType(OperandsEvent.class);
+
+        private static Object beginBind() {
+            return BIND.isEnabled() ? begin(new BindEvent()) : null;
+        }
+
+        private static Object beginMap() {
+            return MAP.isEnabled() ? begin(new MapEvent()) : null;
+        }
+
+        private static Object beginOperands() {
+            return OPERANDS.isEnabled() ? begin(new OperandsEvent()) : null;
+        }
+
+        private static Object begin(Event event) {
+            event.begin();
+            return event;
+        }
+
+        private static void commitBind(Object object, Object[] targets, int arguments, int operands, int failures) {
+            BindEvent event = (BindEvent) object;
+            event.end();
+            if (event.shouldCommit()) {
+                event.targetClass = targets.length == 0 ? null : targets[0].getClass();
+                event.targets = targets.length;
+                event.options = countOptions(targets);
+                event.arguments = arguments;
+                event.operands = operands;
+                event.failures = failures;
+                event.commit();
+            }
+        }
+
+        private static void commitMap(Object object, Class<?> type, boolean mapped) {
+            MapEvent event = (MapEvent) object;
+            event.end();
+            if (event.shouldCommit()) {
+                event.targetClass = type;
+                event.failed = !mapped;
+                event.commit();
+            }
+        }
+
+        private static void commitOperands(Object object, Object[] targets, int arguments, int operandsIndex) {
+            OperandsEvent event = (OperandsEvent) object;
+            event.end();
+            if (event.shouldCommit()) {
+                event.targetClass = targets.length == 0 ? null : targets[0].getClass();
+                event.options = countOptions(targets);
+                event.arguments = arguments;
+                event.operands = arguments - operandsIndex;
+                event.commit();
+            }
+        }
+
+        private static int countOptions(Object[] targets) {
+            int options = 0;
+            for (Object target : targets) {
+                options += BindingPlan.of(target.getClass()).getFields().size();
+            }
+            return options;
+        }
+    }
+
+    @Name("com.nilcaream.utilargs.Bind")
+    @Label("UtilArgs Bind")
+    @Description("Binding of arguments to target objects")
+    @Category("UtilArgs")
+    @Enabled(false)
+    @StackTrace(false)
+    static final class BindEvent extends Event {
+        @Label("Target Class")
+        Class<?> targetClass;
+
+        @Label("Targets")
+        int targets;
+
+        @Label("Options")
+        int options;
+
+        @Label("Arguments")
+        int arguments;
+
+        @Label("Operands")
+        int operands;
+
+        @Label("Failures")
+        int failures;
+    }
+
+    @Name("com.nilcaream.utilargs.Map")
+    @Label("UtilArgs Map")
+    @Description("Mapping of a single value by BaseMapper")
+    @Category("UtilArgs")
+    @Enabled(false)
+    @StackTrace(false)
+    static final class MapEvent extends Event {
+        @Label("Target Class")
+        Class<?> targetClass;
+
+        @Label("Failed")
+        boolean failed;
+    }
+
+    @Name("com.nilcaream.utilargs.Operands")
+    @Label("UtilArgs Operands")
+    @Description("Resolution of operands by UtilArgsEngine or OperandsResolver")
+    @Category("UtilArgs")
+    @Enabled(false)
+    @StackTrace(false)
+    static final class OperandsEvent extends Event {
+        @Label("Target Class")
+        Class<?> targetClass;
+
+        @Label("Options")
+        int options;
+
+        @Label("Arguments")
+        int arguments;
+
+        @Label("Operands")
+        int operands;
+    }
+}
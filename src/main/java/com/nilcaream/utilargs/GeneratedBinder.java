@@ -0,0 +1,117 @@
+/*
+ * Copyright 2020 Krzysztof Smigielski
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.nilcaream.utilargs;
+
+import java.lang.annotation.Annotation;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Base class of binders generated at compile time by util-args-processor. Generated binder
+ * of a target class a.b.Outer$Target is named a.b.Outer_Target_UtilArgsBinder and is used
+ * automatically instead of reflection-based field scanning and field setting.
+ *
+ * @param <T> target type.
+ */
+public abstract class GeneratedBinder<T> {
+
+    static final String SUFFIX = "_UtilArgsBinder";
+
+    private final List<Slot> slots = new ArrayList<>();
+
+    /**
+     * Registers Option annotated field. Registration order defines field index.
+     *
+     * @param name        field name.
+     * @param value       Option value.
+     * @param alternative Option alternative.
+     * @param type        field type.
+     */
+    protected final void option(String name, String value, String alternative, Class<?> type) {
+        option(name, value, alternative, type, String.class);
+    }
+
+    /**
+     * Registers Option annotated collection field. Registration order defines field index.
+     *
+     * @param name        field name.
+     * @param value       Option value.
+     * @param alternative Option alternative.
+     * @param type        field type.
+     * @param elementType erasure of collection element type.
+     */
+    protected final void option(String name, String value, String alternative, Class<?> type, Class<?> elementType) {
+        slots.add(new Slot(name, new Keys(value, alternative), type, elementType));
+    }
+
+    /**
+     * Sets field value on a target object.
+     *
+     * @param target target object.
+     * @param index  field index as registered.
+     * @param value  field value; primitive wrapper for primitive fields.
+     */
+    protected abstract void set(T target, int index, Object value);
+
+    List<Slot> getSlots() {
+        return slots;
+    }
+
+    static String getName(Class<?> type) {
+        return type.getName().replace('$', '_') + SUFFIX;
+    }
+
+    static final class Slot {
+        final String name;
+        final Option option;
+        final Class<?> type;
+        final Class<?> elementType;
+
+        private Slot(String name, Option option, Class<?> type, Class<?> elementType) {
+            this.name = name;
+            this.option = option;
+            this.type = type;
+            this.elementType = elementType;
+        }
+    }
+
+    @SuppressWarnings("ClassExplicitlyAnnotation")
+    private static final class Keys implements Option {
+        private final String value;
+        private final String alternative;
+
+        private Keys(String value, String alternative) {
+            this.value = value;
+            this.alternative = alternative;
+        }
+
+        @Override
+        public String value() {
+            return value;
+        }
+
+        @Override
+        public String alternative() {
+            return alternative;
+        }
+
+        @Override
+        public Class<? extends Annotation> annotationType() {
+            return Option.class;
+        }
+    }
+}
@@ -0,0 +1,147 @@
+/*
+ * Copyright 2020 Krzysztof Smigielski
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.nilcaream.utilargs;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.RandomAccess;
+
+/**
+ * Growable list of long values backed by a primitive array. Elements are boxed only when accessed
+ * via List methods so large lists of numbers do not hold Long objects. Null elements are not permitted.
+ */
+final class LongList extends AbstractList<Long> implements RandomAccess {
+
+    private long[] values;
+    private int size;
+
+    /**
+     * Creates empty list.
+     */
+    public LongList() {
+        this(10);
+    }
+
+    /**
+     * Creates empty list of a given initial capacity.
+     *
+     * @param capacity initial capacity.
+     */
+    public LongList(int capacity) {
+        values = new long[capacity];
+    }
+
+    /**
+     * Gets element without boxing.
+     *
+     * @param index element index.
+     * @return element.
+     */
+    public long getLong(int index) {
+        checkIndex(index);
+        return values[index];
+    }
+
+    /**
+     * Appends element without boxing.
+     *
+     * @param value element.
+     */
+    public void addLong(long value) {
+        ensureCapacity(size + 1);
+        values[size++] = value;
+        modCount++;
+    }
+
+    /**
+     * Copies elements to an array.
+     *
+     * @return new array of elements.
+     */
+    public long[] toLongArray() {
+        return Arrays.copyOf(values, size);
+    }
+
+    @Override
+    public Long get(int index) {
+        return getLong(index);
+    }
+
+    @Override
+    public Long set(int index, Long element) {
+        long previous = getLong(index);
+        values[index] = element;
+        return previous;
+    }
+
+    @Override
+    public void add(int index, Long element) {
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        long value = element;
+        ensureCapacity(size + 1);
+        System.arraycopy(values, index, values, index + 1, size - index);
+        values[index] = value;
+        size++;
+        modCount++;
+    }
+
+    @Override
+    public Long remove(int index) {
+        long previous = getLong(index);
+        System.arraycopy(values, index + 1, values, index, size - index - 1);
+        size--;
+        modCount++;
+        return previous;
+    }
+
+    @Override
+    public int indexOf(Object object) {
+        if (object instanceof Long) {
+            long value = (Long) object;
+            for (int index = 0; index < size; index++) {
+                if (values[index] == value) {
+                    return index;
+                }
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public boolean contains(Object object) {
+        return indexOf(object) != -1;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > values.length) {
+            values = Arrays.copyOf(values, Math.max(capacity, values.length * 2));
+        }
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+}
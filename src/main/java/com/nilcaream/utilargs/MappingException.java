@@ -0,0 +1,53 @@
+/*
+ * Copyright 2020 Krzysztof Smigielski
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.nilcaream.utilargs;
+
+/**
+ * Failure of mapping values to a field type. Stack trace is not filled in as the failure is fully
+ * described by the value, the type and the reason.
+ */
+final class MappingException extends UtilArgsException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String value;
+    private final Class<?> type;
+    private final String reason;
+
+    MappingException(String value, Class<?> type, String reason) {
+        this("Cannot map \"" + value + "\" to " + type.getName(), value, type, reason);
+    }
+
+    MappingException(String message, String value, Class<?> type, String reason) {
+        super(message, null, false);
+        this.value = value;
+        this.type = type;
+        this.reason = reason;
+    }
+
+    String getValue() {
+        return value;
+    }
+
+    Class<?> getType() {
+        return type;
+    }
+
+    String getReason() {
+        return reason;
+    }
+}
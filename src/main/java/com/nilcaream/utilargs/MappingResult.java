@@ -0,0 +1,83 @@
+/*
+ * Copyright 2020 Krzysztof Smigielski
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.nilcaream.utilargs;
+
+/**
+ * Result of mapping a String value. Failure carries a short reason instead of an exception so
+ * invalid values are reported without building stack traces.
+ *
+ * @param <T> target type.
+ */
+public final class MappingResult<T> {
+
+    private final T value;
+    private final String reason;
+
+    private MappingResult(T value, String reason) {
+        this.value = value;
+        this.reason = reason;
+    }
+
+    /**
+     * Creates successful result.
+     *
+     * @param value mapped value; not null.
+     * @param <T>   target type.
+     * @return mapping result.
+     */
+    public static <T> MappingResult<T> success(T value) {
+        return new MappingResult<>(value, null);
+    }
+
+    /**
+     * Creates failed result.
+     *
+     * @param reason failure reason e.g. "not a number"; not null.
+     * @param <T>    target type.
+     * @return mapping result.
+     */
+    public static <T> MappingResult<T> failure(String reason) {
+        return new MappingResult<>(null, reason);
+    }
+
+    /**
+     * Gets mapped value.
+     *
+     * @return value or null if mapping failed.
+     */
+    public T getValue() {
+        return value;
+    }
+
+    /**
+     * Gets failure reason.
+     *
+     * @return reason or null if mapping succeeded.
+     */
+    public String getReason() {
+        return reason;
+    }
+
+    /**
+     * Checks if mapping succeeded.
+     *
+     * @return true if there is a value.
+     */
+    public boolean isSuccess() {
+        return reason == null;
+    }
+}
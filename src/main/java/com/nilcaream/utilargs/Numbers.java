@@ -0,0 +1,139 @@
+/*
+ * Copyright 2020 Krzysztof Smigielski
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.nilcaream.utilargs;
+
+/**
+ * Exception-free validators of numeric values. A value accepted by a validator is guaranteed to be
+ * parsed by the corresponding JDK parse method without NumberFormatException so mapping failures
+ * are detected without creating exceptions.
+ */
+final class Numbers {
+
+    static final String NOT_A_NUMBER = "not a number";
+    static final String OUT_OF_RANGE = "out of range";
+
+    private Numbers() {
+        // static helpers
+    }
+
+    /**
+     * Validates decimal integer in format accepted by {@link Long#parseLong(String)}.
+     *
+     * @param value value; not null.
+     * @param min   minimal value e.g. {@link Integer#MIN_VALUE}.
+     * @param max   maximal value e.g. {@link Integer#MAX_VALUE}.
+     * @return null if value is valid; failure reason otherwise.
+     */
+    static String checkInteger(String value, long min, long max) {
+        int length = value.length();
+        int index = 0;
+        boolean negative = length > 0 && value.charAt(0) == '-';
+        if (negative || length > 0 && value.charAt(0) == '+') {
+            index++;
+        }
+        if (index == length) {
+            return NOT_A_NUMBER;
+        }
+        // accumulate negatively as Long.parseLong does so that both limits are representable
+        long limit = negative ? min : -max;
+        long multiplyLimit = limit / 10;
+        long result = 0;
+        boolean overflow = false;
+        for (; index < length; index++) {
+            int digit = Character.digit(value.charAt(index), 10);
+            if (digit < 0) {
+                return NOT_A_NUMBER;
+            } else if (!overflow && (result < multiplyLimit || result * 10 < limit + digit)) {
+                overflow = true;
+            } else if (!overflow) {
+                result = result * 10 - digit;
+            }
+        }
+        return overflow ? OUT_OF_RANGE : null;
+    }
+
+    /**
+     * Validates floating point value in format accepted by {@link Double#parseDouble(String)}
+     * and {@link Float#parseFloat(String)} i.e. decimal or hexadecimal value with optional exponent
+     * and type suffix, NaN or Infinity. Values are never out of range.
+     *
+     * @param value value; not null.
+     * @return null if value is valid; failure reason otherwise.
+     */
+    static String checkDecimal(String value) {
+        int index = 0;
+        int to = value.length();
+        while (index < to && value.charAt(index) <= ' ') {
+            index++;
+        }
+        while (to > index && value.charAt(to - 1) <= ' ') {
+            to--;
+        }
+        if (index < to && (value.charAt(index) == '+' || value.charAt(index) == '-')) {
+            index++;
+        }
+        if (isWord(value, index, to, "NaN") || isWord(value, index, to, "Infinity")) {
+            return null;
+        }
+        boolean hex = to - index > 1 && value.charAt(index) == '0' && (value.charAt(index + 1) == 'x' || value.charAt(index + 1) == 'X');
+        int radix = hex ? 16 : 10;
+        index += hex ? 2 : 0;
+        int digits = 0;
+        for (; index < to && isDigit(value.charAt(index), radix); index++) {
+            digits++;
+        }
+        if (index < to && value.charAt(index) == '.') {
+            for (index++; index < to && isDigit(value.charAt(index), radix); index++) {
+                digits++;
+            }
+        }
+        if (digits == 0) {
+            return NOT_A_NUMBER;
+        }
+        char exponent = index < to ? value.charAt(index) : 0;
+        if (hex ? exponent == 'p' || exponent == 'P' : exponent == 'e' || exponent == 'E') {
+            index = skipExponent(value, index + 1, to);
+        } else if (hex) {
+            return NOT_A_NUMBER;
+        }
+        if (index < 0) {
+            return NOT_A_NUMBER;
+        } else if (index < to && "fFdD".indexOf(value.charAt(index)) >= 0) {
+            index++;
+        }
+        return index == to ? null : NOT_A_NUMBER;
+    }
+
+    private static boolean isWord(String value, int from, int to, String word) {
+        return to - from == word.length() && value.startsWith(word, from);
+    }
+
+    private static boolean isDigit(char value, int radix) {
+        return value >= '0' && value <= '9' || radix == 16 && (value >= 'a' && value <= 'f' || value >= 'A' && value <= 'F');
+    }
+
+    private static int skipExponent(String value, int index, int to) {
+        if (index < to && (value.charAt(index) == '+' || value.charAt(index) == '-')) {
+            index++;
+        }
+        int from = index;
+        while (index < to && isDigit(value.charAt(index), 10)) {
+            index++;
+        }
+        return index == from ? -1 : index;
+    }
+}
@@ -16,83 +16,130 @@
 
 package com.nilcaream.utilargs;
 
-import java.lang.reflect.Field;
 import java.util.Arrays;
-import java.util.Collection;
-import java.util.Objects;
-import java.util.Set;
-import java.util.function.Predicate;
-import java.util.regex.Pattern;
-import java.util.stream.Collectors;
 
+/**
+ * Operands resolver. Finds arguments following the last known option. Option keys are
+ * precomputed once per target class.
+ */
 public class OperandsResolver {
 
+    /**
+     * Resolves operands i.e. arguments that follow the last known option of target objects.
+     *
+     * @param args    arguments, usually from application main method.
+     * @param targets target objects.
+     * @return operands joined with space or empty string; non-null.
+     */
     public String resolve(String[] args, Object... targets) {
-        Set<Option> booleanOptions = findOptions(targets, field -> isBoolean(field.getType()));
-        Set<String> booleanValues = findValues(booleanOptions);
-        Set<String> booleanAlternatives = findAlternatives(booleanOptions);
-
-        Set<Option> allOptions = findOptions(targets, field -> true);
-        Set<String> allValues = findValues(allOptions);
-        Set<String> allAlternatives = findAlternatives(allOptions);
+        Object event = FlightEvents.beginOperands();
+        OptionKeys[] keys = new OptionKeys[targets.length];
+        for (int i = 0; i < targets.length; i++) {
+            keys[i] = BindingPlan.of(targets[i].getClass()).getKeys();
+        }
+        int operandsIndex = findOperandsIndex(args, keys);
+        String operands = String.join(" ", Arrays.copyOfRange(args, operandsIndex, args.length));
+        FlightEvents.commitOperands(event, targets, args.length, operandsIndex);
+        return operands;
+    }
 
+    int findOperandsIndex(String[] args, OptionKeys... keys) {
         int operandsIndex = 0;
-        Pattern combinedBooleanValuesPattern = booleanValues.isEmpty() ? null : Pattern.compile("[" + String.join("", booleanValues) + "]+");
-
         for (int index = 0, length = args.length; index < length; index++) {
-            String arg = args[index];
-            if (arg.startsWith("--") && arg.length() > 2) {
-                String key = arg.substring(2);
-                if (booleanAlternatives.contains(key)) { // --verbose
-                    operandsIndex = index + 1;
-                } else if (allAlternatives.contains(key)) { // --file input.txt
-                    operandsIndex = index + 2;
-                }
-            } else if (arg.startsWith("-") && arg.length() == 2) {
-                String key = arg.substring(1);
-                if (booleanValues.contains(key)) { // -v
-                    operandsIndex = index + 1;
-                } else if (allValues.contains(key)) { // -f input.txt
-                    operandsIndex = index + 2;
-                }
-            } else if (arg.startsWith("-") && arg.length() > 2) {
-                String key = arg.substring(1);
-                if (combinedBooleanValuesPattern != null && combinedBooleanValuesPattern.matcher(key).matches()) { // -cjvf
-                    operandsIndex = index + 1;
-                }
+            operandsIndex = nextOperandsIndex(args[index], index, keys, operandsIndex);
+        }
+        return Math.min(operandsIndex, args.length);
+    }
+
+    /**
+     * Checks single argument against known option keys.
+     *
+     * @param arg     argument.
+     * @param index   argument index.
+     * @param keys    option keys of target objects.
+     * @param current operands index resolved so far.
+     * @return index following the argument (and its value) if argument is a known option or current index.
+     */
+    int nextOperandsIndex(String arg, int index, OptionKeys[] keys, int current) {
+        int length = getOptionLength(arg, keys);
+        return length == 0 ? current : index + length;
+    }
+
+    /**
+     * Gets number of arguments taken by a known option i.e. 1 for boolean options and 2 for options
+     * followed by a value.
+     *
+     * @param arg  argument.
+     * @param keys option keys of target objects.
+     * @return number of arguments or 0 if argument is not a known option.
+     */
+    int getOptionLength(String arg, OptionKeys[] keys) {
+        int argLength = arg.length();
+        if (argLength < 2 || arg.charAt(0) != '-') {
+            return 0;
+        }
+        if (argLength > 2 && arg.charAt(1) == '-') {
+            String key = arg.substring(2);
+            if (isBooleanLong(keys, key)) { // --verbose
+                return 1;
+            } else if (isLong(keys, key)) { // --file input.txt
+                return 2;
+            }
+        } else if (argLength == 2) {
+            char key = arg.charAt(1);
+            if (isBooleanShort(keys, key)) { // -v
+                return 1;
+            } else if (isShort(keys, key)) { // -f input.txt
+                return 2;
             }
+        } else if (areBooleanShort(keys, arg)) { // -cjvf
+            return 1;
         }
+        return 0;
+    }
 
-        return String.join(" ", Arrays.copyOfRange(args, operandsIndex, args.length));
+    private boolean areBooleanShort(OptionKeys[] keys, String arg) {
+        for (int index = 1, length = arg.length(); index < length; index++) {
+            if (!isBooleanShort(keys, arg.charAt(index))) {
+                return false;
+            }
+        }
+        return true;
     }
 
-    private Set<String> findValues(Set<Option> options) {
-        return options.stream()
-                .map(Option::value)
-                .filter(value -> !value.isEmpty())
-                .map(value -> value.substring(0, 1))
-                .collect(Collectors.toSet());
+    private boolean isBooleanShort(OptionKeys[] keys, char key) {
+        for (OptionKeys optionKeys : keys) {
+            if (optionKeys.isBooleanShort(key)) {
+                return true;
+            }
+        }
+        return false;
     }
 
-    private Set<String> findAlternatives(Set<Option> options) {
-        return options.stream()
-                .map(Option::alternative)
-                .filter(alternative -> !alternative.isEmpty())
-                .collect(Collectors.toSet());
+    private boolean isShort(OptionKeys[] keys, char key) {
+        for (OptionKeys optionKeys : keys) {
+            if (optionKeys.isShort(key)) {
+                return true;
+            }
+        }
+        return false;
     }
 
-    private Set<Option> findOptions(Object[] targets, Predicate<Field> filter) {
-        return Arrays.stream(targets)
-                .map(target -> target.getClass().getDeclaredFields())
-                .map(fields -> Arrays.stream(fields).collect(Collectors.toSet()))
-                .flatMap(Collection::stream)
-                .filter(filter)
-                .map(field -> field.getAnnotation(Option.class))
-                .filter(Objects::nonNull)
-                .collect(Collectors.toSet());
+    private boolean isBooleanLong(OptionKeys[] keys, String key) {
+        for (OptionKeys optionKeys : keys) {
+            if (optionKeys.isBooleanLong(key)) {
+                return true;
+            }
+        }
+        return false;
     }
 
-    private boolean isBoolean(Class<?> cls) {
-        return cls.equals(boolean.class) || cls.equals(Boolean.class);
+    private boolean isLong(OptionKeys[] keys, String key) {
+        for (OptionKeys optionKeys : keys) {
+            if (optionKeys.isLong(key)) {
+                return true;
+            }
+        }
+        return false;
     }
 }
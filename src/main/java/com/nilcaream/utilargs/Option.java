@@ -25,10 +25,11 @@ import java.lang.annotation.Target;
  * Field annotation used to indicate that this field should be used for automatic
  * argument binding. Value and alternative should be unique within annotated object.
  * Usually value is a single character. Alternative should be used for long options
- * format.
+ * format. Can also be used on no-argument methods of an interface accessed via
+ * {@link UtilArgs#proxy(String[], Class)}.
  */
 @Retention(RetentionPolicy.RUNTIME)
-@Target(ElementType.FIELD)
+@Target({ElementType.FIELD, ElementType.METHOD})
 public @interface Option {
 
     String value() default "";
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2020 Krzysztof Smigielski
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.nilcaream.utilargs;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Option keys of a target class used for operands resolution. Short keys are the first
+ * characters of Option values and are kept in a lookup table. Long keys are Option alternatives.
+ */
+final class OptionKeys {
+
+    private static final int TABLE_SIZE = 128;
+
+    private final boolean[] booleanShortTable = new boolean[TABLE_SIZE];
+    private final boolean[] allShortTable = new boolean[TABLE_SIZE];
+    private final Set<Character> booleanShortKeys = new HashSet<>();
+    private final Set<Character> allShortKeys = new HashSet<>();
+    private final Set<String> booleanLongKeys = new HashSet<>();
+    private final Set<String> allLongKeys = new HashSet<>();
+    private final Set<String> names = new HashSet<>();
+
+    OptionKeys(List<BoundField> fields) {
+        for (BoundField field : fields) {
+            String value = field.getOption().value();
+            String alternative = field.getOption().alternative();
+            names.add(value);
+            names.add(alternative);
+            if (!value.isEmpty()) {
+                add(allShortTable, allShortKeys, value.charAt(0));
+                if (field.isBoolean()) {
+                    add(booleanShortTable, booleanShortKeys, value.charAt(0));
+                }
+            }
+            if (!alternative.isEmpty()) {
+                allLongKeys.add(alternative);
+                if (field.isBoolean()) {
+                    booleanLongKeys.add(alternative);
+                }
+            }
+        }
+    }
+
+    private static void add(boolean[] table, Set<Character> keys, char key) {
+        if (key < TABLE_SIZE) {
+            table[key] = true;
+        } else {
+            keys.add(key);
+        }
+    }
+
+    private static boolean contains(boolean[] table, Set<Character> keys, char key) {
+        return key < TABLE_SIZE ? table[key] : !keys.isEmpty() && keys.contains(key);
+    }
+
+    boolean isBooleanShort(char key) {
+        return contains(booleanShortTable, booleanShortKeys, key);
+    }
+
+    boolean isShort(char key) {
+        return contains(allShortTable, allShortKeys, key);
+    }
+
+    boolean isBooleanLong(String key) {
+        return booleanLongKeys.contains(key);
+    }
+
+    boolean isLong(String key) {
+        return allLongKeys.contains(key);
+    }
+
+    boolean isKnown(String key) {
+        return !key.isEmpty() && names.contains(key);
+    }
+}
@@ -0,0 +1,170 @@
+/*
+ * Copyright 2020 Krzysztof Smigielski
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.nilcaream.utilargs;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Interface proxy over parsed arguments. Option values are mapped on first access of a method
+ * and memoized so the cost depends only on options that are actually read. Default methods of
+ * the interface are invoked on the proxy.
+ */
+final class OptionsProxy implements InvocationHandler {
+
+    private static final Object UNRESOLVED = new Object();
+
+    private static final ClassValue<Map<Method, Integer>> INDEXES = new ClassValue<Map<Method, Integer>>() {
+        @Override
+        protected Map<Method, Integer> computeValue(Class<?> type) {
+            List<BoundField> fields = BindingPlan.of(type).getFields();
+            Map<Method, Integer> result = new HashMap<>();
+            for (Method method : type.getMethods()) {
+                for (int index = 0, size = fields.size(); index < size; index++) {
+                    if (method.getParameterCount() == 0 && method.getName().equals(fields.get(index).getName())) {
+                        result.put(method, index);
+                    }
+                }
+            }
+            return result;
+        }
+    };
+
+    private static final ClassValue<Map<Method, MethodHandle>> DEFAULTS = new ClassValue<Map<Method, MethodHandle>>() {
+        @Override
+        protected Map<Method, MethodHandle> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
+    private final Class<?> type;
+    private final ParsedArgs arguments;
+    private final List<BoundField> fields;
+    private final Map<Method, Integer> indexes;
+    private final AtomicReferenceArray<Object> values;
+    private final ValuesSelector selector;
+    private final Binder binder;
+    private final boolean failFast;
+
+    private OptionsProxy(Class<?> type, ParsedArgs arguments, ValuesSelector selector, Binder binder, boolean failFast) {
+        this.type = type;
+        this.arguments = arguments;
+        this.fields = BindingPlan.of(type).getFields();
+        this.indexes = INDEXES.get(type);
+        this.values = new AtomicReferenceArray<>(fields.size());
+        this.selector = selector;
+        this.binder = binder;
+        this.failFast = failFast;
+        for (int index = 0, size = fields.size(); index < size; index++) {
+            values.set(index, UNRESOLVED);
+        }
+    }
+
+    /**
+     * Creates proxy of an interface with Option annotated methods.
+     *
+     * @param type      interface.
+     * @param arguments parsed arguments.
+     * @param selector  values selector.
+     * @param binder    binder used to map values.
+     * @param failFast  if true mapping errors are thrown on method access; default values are returned otherwise.
+     * @param <T>       interface type.
+     * @return proxy instance.
+     */
+    static <T> T create(Class<T> type, ParsedArgs arguments, ValuesSelector selector, Binder binder, boolean failFast) {
+        if (!type.isInterface()) {
+            throw new IllegalArgumentException(type.getName() + " is not an interface");
+        }
+        OptionsProxy handler = new OptionsProxy(type, arguments, selector, binder, failFast);
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, handler));
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        Integer index = indexes.get(method);
+        if (index != null) {
+            Object value = values.get(index);
+            return value == UNRESOLVED ? resolve(index) : value;
+        } else if (method.getDeclaringClass() == Object.class) {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                default:
+                    return "UtilArgs proxy of " + type.getName();
+            }
+        } else if (method.isDefault()) {
+            return DEFAULTS.get(type).computeIfAbsent(method, OptionsProxy::findDefault).bindTo(proxy).invokeWithArguments(args);
+        } else {
+            throw new UnsupportedOperationException(method.getName() + " is not an Option annotated method");
+        }
+    }
+
+    private static MethodHandle findDefault(Method method) {
+        Class<?> declaringClass = method.getDeclaringClass();
+        try {
+            return privateLookupIn(declaringClass).unreflectSpecial(method, declaringClass);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            throw new UtilArgsException("Cannot invoke default method " + method.getName(), e);
+        }
+    }
+
+    /*
+     * MethodHandles.privateLookupIn is available since Java 9. Java 8 requires private Lookup constructor.
+     */
+    private static MethodHandles.Lookup privateLookupIn(Class<?> type) throws ReflectiveOperationException {
+        try {
+            Method privateLookupIn = MethodHandles.class.getMethod("privateLookupIn", Class.class, MethodHandles.Lookup.class);
+            return (MethodHandles.Lookup) privateLookupIn.invoke(null, type, MethodHandles.lookup());
+        } catch (NoSuchMethodException e) {
+            Constructor<MethodHandles.Lookup> constructor = MethodHandles.Lookup.class.getDeclaredConstructor(Class.class, int.class);
+            constructor.setAccessible(true);
+            return constructor.newInstance(type, MethodHandles.Lookup.PRIVATE);
+        }
+    }
+
+    private Object resolve(int index) {
+        BoundField field = fields.get(index);
+        Object[] holder = new Object[]{getDefault(field.getType())};
+        try {
+            binder.bind(holder, field, selector.select(arguments, field));
+        } catch (IllegalAccessException e) {
+            throw new UtilArgsException("Binding failed for " + field.getName(), e);
+        } catch (UtilArgsException e) {
+            if (failFast) {
+                throw e;
+            }
+        }
+        values.compareAndSet(index, UNRESOLVED, holder[0]);
+        return values.get(index);
+    }
+
+    private static Object getDefault(Class<?> type) {
+        return type.isPrimitive() ? Array.get(Array.newInstance(type, 1), 0) : null;
+    }
+}
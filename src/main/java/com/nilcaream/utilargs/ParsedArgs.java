@@ -0,0 +1,376 @@
+/*
+ * Copyright 2020 Krzysztof Smigielski
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.nilcaream.utilargs;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+
+/**
+ * Compact result of arguments parsing. Keys and values are stored as index ranges into the
+ * original arguments array. Values of a key are available as a zero-copy list view.
+ */
+public final class ParsedArgs {
+
+    static final String OPERANDS_KEY = "--";
+
+    private static final String TRUE = "true";
+    static final int EMPTY_INDEX = -3;
+
+    private static final int TRUE_INDEX = -1;
+    private static final int OPERANDS_INDEX = -2;
+
+    private final String[] args;
+    private final int[] table;
+    private final int[] keyArgs;
+    private final int[] keyOffsets;
+    private final int[] keyLengths;
+    private final int[] starts;
+    private final int[] values;
+    private final int operandsIndex;
+    private String operands;
+
+    private ParsedArgs(Builder builder) {
+        int size = builder.size;
+        this.args = builder.args;
+        this.table = builder.table;
+        this.keyArgs = Arrays.copyOf(builder.keyArgs, size);
+        this.keyOffsets = Arrays.copyOf(builder.keyOffsets, size);
+        this.keyLengths = Arrays.copyOf(builder.keyLengths, size);
+        this.operandsIndex = builder.operandsIndex;
+
+        this.starts = new int[size + 1];
+        for (int key = 0; key < size; key++) {
+            starts[key + 1] = starts[key] + builder.counts[key];
+        }
+        this.values = new int[starts[size]];
+        int[] positions = Arrays.copyOf(starts, size);
+        for (int entry = 0; entry < builder.entries; entry++) {
+            values[positions[builder.entryKeys[entry]]++] = builder.entryValues[entry];
+        }
+    }
+
+    /**
+     * Gets values of a given key.
+     *
+     * @param key option key without leading dashes.
+     * @return unmodifiable view of values in order of appearance without duplicates or null if key is not present.
+     */
+    public List<String> get(String key) {
+        int id = find(key);
+        return id == -1 ? null : new Values(starts[id], starts[id + 1]);
+    }
+
+    /**
+     * Gets number of distinct keys.
+     *
+     * @return number of keys.
+     */
+    public int size() {
+        return keyArgs.length;
+    }
+
+    /**
+     * Gets index of the first operand. Operands either follow -- marker or follow the last known
+     * option if arguments were parsed with target objects' option keys.
+     *
+     * @return index of the first operand; arguments length if there are no operands; -1 if unknown.
+     */
+    public int getOperandsIndex() {
+        return operandsIndex;
+    }
+
+    /**
+     * Gets operands as a view of original arguments. Operands are not copied or joined.
+     *
+     * @return unmodifiable list of operands; empty if there are no operands or operands index is unknown.
+     */
+    public List<String> getOperandList() {
+        if (operandsIndex < 0) {
+            return Collections.emptyList();
+        }
+        return operandList(args, operandsIndex);
+    }
+
+    /**
+     * Creates unmodifiable view of arguments starting from a given index.
+     *
+     * @param args  arguments.
+     * @param index index of the first operand.
+     * @return unmodifiable list view; not copied.
+     */
+    static List<String> operandList(String[] args, int index) {
+        return Collections.unmodifiableList(Arrays.asList(args).subList(index, args.length));
+    }
+
+    /**
+     * Gets original arguments.
+     *
+     * @return arguments array; not copied.
+     */
+    String[] getArgs() {
+        return args;
+    }
+
+    /**
+     * Creates map view of parsed arguments. Compatible with {@link ArgumentsParser#parse(String...)} result.
+     *
+     * @return map of argument to list of values.
+     */
+    public Map<String, List<String>> toMap() {
+        Map<String, List<String>> result = new HashMap<>(size() * 4 / 3 + 1);
+        for (int id = 0; id < size(); id++) {
+            result.put(getKey(id), new ArrayList<>(new Values(starts[id], starts[id + 1])));
+        }
+        return result;
+    }
+
+    /**
+     * Gets key of a given id.
+     *
+     * @param id key id; from 0 to size - 1.
+     * @return key without leading dashes.
+     */
+    String getKey(int id) {
+        int offset = keyOffsets[id];
+        return args[keyArgs[id]].substring(offset, offset + keyLengths[id]);
+    }
+
+    private String getValue(int index) {
+        if (index >= 0) {
+            return args[index];
+        } else if (index == TRUE_INDEX) {
+            return TRUE;
+        } else if (index == EMPTY_INDEX) {
+            return "";
+        } else {
+            if (operands == null) {
+                operands = String.join(" ", Arrays.copyOfRange(args, operandsIndex, args.length));
+            }
+            return operands;
+        }
+    }
+
+    private int find(String key) {
+        int mask = table.length - 1;
+        for (int slot = hash(key, 0, key.length()) & mask; ; slot = (slot + 1) & mask) {
+            int id = table[slot] - 1;
+            if (id == -1) {
+                return -1;
+            } else if (keyLengths[id] == key.length() && key.regionMatches(0, args[keyArgs[id]], keyOffsets[id], keyLengths[id])) {
+                return id;
+            }
+        }
+    }
+
+    private static int hash(String string, int from, int to) {
+        int hash = 0;
+        for (int index = from; index < to; index++) {
+            hash = 31 * hash + string.charAt(index);
+        }
+        return mix(hash);
+    }
+
+    private static int mix(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    private final class Values extends AbstractList<String> implements RandomAccess {
+        private final int from;
+        private final int to;
+
+        private Values(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        public String get(int index) {
+            if (index < 0 || index >= to - from) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+            }
+            return getValue(values[from + index]);
+        }
+
+        @Override
+        public int size() {
+            return to - from;
+        }
+    }
+
+    /**
+     * Single pass builder of parsed arguments. Keys are identified by argument index, offset
+     * and length so no key substrings are created while parsing. Duplicated values are detected
+     * in constant time by using open addressing table of value entries.
+     */
+    static final class Builder {
+        private final String[] args;
+        private int[] table = new int[16];
+        private int size;
+        private int[] keyArgs = new int[8];
+        private int[] keyOffsets = new int[8];
+        private int[] keyLengths = new int[8];
+        private int[] counts = new int[8];
+        private int entries;
+        private int[] entryTable = new int[32];
+        private int[] entryValues = new int[16];
+        private int[] entryKeys = new int[16];
+        private int operandsIndex = -1;
+
+        Builder(String[] args) {
+            this.args = args;
+        }
+
+        /**
+         * Adds value of a key.
+         *
+         * @param keyArg     index of the argument holding the key.
+         * @param keyOffset  offset of the key within the argument.
+         * @param keyLength  length of the key.
+         * @param valueIndex index of the value argument.
+         */
+        void add(int keyArg, int keyOffset, int keyLength, int valueIndex) {
+            append(findOrCreate(keyArg, keyOffset, keyLength), valueIndex);
+        }
+
+        /**
+         * Adds flag key i.e. key with "true" value.
+         *
+         * @param keyArg    index of the argument holding the key.
+         * @param keyOffset offset of the key within the argument.
+         * @param keyLength length of the key.
+         */
+        void addFlag(int keyArg, int keyOffset, int keyLength) {
+            append(findOrCreate(keyArg, keyOffset, keyLength), TRUE_INDEX);
+        }
+
+        /**
+         * Adds operands following -- marker.
+         *
+         * @param markerIndex index of the -- marker argument.
+         */
+        void addOperands(int markerIndex) {
+            operandsIndex = markerIndex + 1;
+            append(findOrCreate(markerIndex, 0, 2), OPERANDS_INDEX);
+        }
+
+        /**
+         * Sets index of the first operand resolved based on option keys.
+         *
+         * @param index index of the first operand.
+         */
+        void setOperandsIndex(int index) {
+            operandsIndex = index;
+        }
+
+        ParsedArgs build() {
+            return new ParsedArgs(this);
+        }
+
+        private String getValue(int index) {
+            return index >= 0 ? args[index] : index == TRUE_INDEX ? TRUE : index == EMPTY_INDEX ? "" : null;
+        }
+
+        private void append(int id, int valueIndex) {
+            String value = getValue(valueIndex);
+            int mask = entryTable.length - 1;
+            int slot = mix(31 * (value == null ? 0 : value.hashCode()) + id) & mask;
+            for (; ; slot = (slot + 1) & mask) {
+                int entry = entryTable[slot] - 1;
+                if (entry == -1) {
+                    break;
+                } else if (entryKeys[entry] == id && (valueIndex == entryValues[entry]
+                        || (value != null && value.equals(getValue(entryValues[entry]))))) {
+                    return;
+                }
+            }
+
+            if (entries == entryValues.length) {
+                entryValues = Arrays.copyOf(entryValues, entries * 2);
+                entryKeys = Arrays.copyOf(entryKeys, entries * 2);
+            }
+            entryValues[entries] = valueIndex;
+            entryKeys[entries] = id;
+            counts[id]++;
+            entryTable[slot] = ++entries;
+            if (entries * 2 > entryTable.length) {
+                rehashEntries();
+            }
+        }
+
+        private void rehashEntries() {
+            entryTable = new int[entryTable.length * 2];
+            int mask = entryTable.length - 1;
+            for (int entry = 0; entry < entries; entry++) {
+                String value = getValue(entryValues[entry]);
+                int slot = mix(31 * (value == null ? 0 : value.hashCode()) + entryKeys[entry]) & mask;
+                while (entryTable[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                entryTable[slot] = entry + 1;
+            }
+        }
+
+        private int findOrCreate(int keyArg, int keyOffset, int keyLength) {
+            String key = args[keyArg];
+            int mask = table.length - 1;
+            int slot = hash(key, keyOffset, keyOffset + keyLength) & mask;
+            for (; ; slot = (slot + 1) & mask) {
+                int id = table[slot] - 1;
+                if (id == -1) {
+                    break;
+                } else if (keyLengths[id] == keyLength && key.regionMatches(keyOffset, args[keyArgs[id]], keyOffsets[id], keyLength)) {
+                    return id;
+                }
+            }
+
+            if (size == keyArgs.length) {
+                int capacity = size * 2;
+                keyArgs = Arrays.copyOf(keyArgs, capacity);
+                keyOffsets = Arrays.copyOf(keyOffsets, capacity);
+                keyLengths = Arrays.copyOf(keyLengths, capacity);
+                counts = Arrays.copyOf(counts, capacity);
+            }
+            int id = size++;
+            keyArgs[id] = keyArg;
+            keyOffsets[id] = keyOffset;
+            keyLengths[id] = keyLength;
+            table[slot] = id + 1;
+            if (size * 2 > table.length) {
+                rehash();
+            }
+            return id;
+        }
+
+        private void rehash() {
+            table = new int[table.length * 2];
+            int mask = table.length - 1;
+            for (int id = 0; id < size; id++) {
+                int slot = hash(args[keyArgs[id]], keyOffsets[id], keyOffsets[id] + keyLengths[id]) & mask;
+                while (table[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                table[slot] = id + 1;
+            }
+        }
+    }
+}
@@ -0,0 +1,293 @@
+/*
+ * Copyright 2020 Krzysztof Smigielski
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.nilcaream.utilargs;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Values source reading a UTF-8 properties file through memory-mapped I/O. File is scanned once and
+ * keys are compared as raw bytes with Option values and alternatives of a schema so only values of
+ * matching keys are decoded. Supports comments, =, : and whitespace separators, escapes and line
+ * continuations. Last occurrence of a key wins.
+ */
+final class PropertiesFileSource implements ValuesSource {
+
+    private final Map<String, String> values;
+
+    private PropertiesFileSource(Map<String, String> values) {
+        this.values = values;
+    }
+
+    /**
+     * Reads values of schema keys from a properties file.
+     *
+     * @param path  properties file path.
+     * @param types classes or interfaces with Option annotations.
+     * @return values source.
+     * @throws IOException thrown if file cannot be read or contains malformed unicode escapes.
+     */
+    static PropertiesFileSource read(Path path, Class<?>... types) throws IOException {
+        Set<String> keys = new LinkedHashSet<>();
+        for (Class<?> type : types) {
+            for (BoundField field : BindingPlan.of(type).getFields()) {
+                keys.add(field.getOption().value());
+                keys.add(field.getOption().alternative());
+            }
+        }
+        keys.remove("");
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("Properties file " + path + " is too large");
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            return new PropertiesFileSource(new Scanner(path, buffer, keys).scan());
+        }
+    }
+
+    @Override
+    public String get(String key) {
+        return values.get(key);
+    }
+
+    private static final class Scanner {
+        private final Path path;
+        private final MappedByteBuffer buffer;
+        private final int limit;
+        private final String[] keys;
+        private final byte[][] keyBytes;
+        private final int[] table;
+        private final String[] found;
+        private int position;
+
+        private Scanner(Path path, MappedByteBuffer buffer, Set<String> schemaKeys) {
+            this.path = path;
+            this.buffer = buffer;
+            this.limit = buffer.limit();
+            this.keys = schemaKeys.toArray(new String[0]);
+            this.keyBytes = new byte[keys.length][];
+            this.table = new int[Integer.highestOneBit(Math.max(keys.length, 1) * 2) * 2];
+            this.found = new String[keys.length];
+            int mask = table.length - 1;
+            for (int id = 0; id < keys.length; id++) {
+                keyBytes[id] = keys[id].getBytes(StandardCharsets.UTF_8);
+                int slot = hash(keyBytes[id], 0, keyBytes[id].length) & mask;
+                while (table[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                table[slot] = id + 1;
+            }
+        }
+
+        private Map<String, String> scan() throws IOException {
+            while (position < limit) {
+                byte b = buffer.get(position);
+                if (isWhitespace(b) || isLineEnd(b)) {
+                    position++;
+                } else if (b == '#' || b == '!') {
+                    skipLine();
+                } else {
+                    readEntry();
+                }
+            }
+            Map<String, String> result = new HashMap<>();
+            for (int id = 0; id < keys.length; id++) {
+                if (found[id] != null) {
+                    result.put(keys[id], found[id]);
+                }
+            }
+            return Collections.unmodifiableMap(result);
+        }
+
+        private void readEntry() throws IOException {
+            int keyStart = position;
+            boolean keyEscaped = false;
+            while (position < limit) {
+                byte b = buffer.get(position);
+                if (b == '\\') {
+                    keyEscaped = true;
+                    skipEscape();
+                } else if (b == '=' || b == ':' || isWhitespace(b) || isLineEnd(b)) {
+                    break;
+                } else {
+                    position++;
+                }
+            }
+            int keyEnd = position;
+            skipWhitespace();
+            if (position < limit && (buffer.get(position) == '=' || buffer.get(position) == ':')) {
+                position++;
+                skipWhitespace();
+            }
+            int valueStart = position;
+            boolean valueEscaped = false;
+            while (position < limit) {
+                byte b = buffer.get(position);
+                if (b == '\\') {
+                    valueEscaped = true;
+                    skipEscape();
+                } else if (isLineEnd(b)) {
+                    break;
+                } else {
+                    position++;
+                }
+            }
+            int id = keyEscaped ? find(unescape(decode(keyStart, keyEnd))) : find(keyStart, keyEnd);
+            if (id != -1) {
+                String value = decode(valueStart, position);
+                found[id] = valueEscaped ? unescape(value) : value;
+            }
+        }
+
+        private void skipEscape() {
+            position++;
+            if (position < limit) {
+                byte b = buffer.get(position++);
+                if (b == '\r' && position < limit && buffer.get(position) == '\n') {
+                    position++;
+                }
+            }
+        }
+
+        private void skipWhitespace() {
+            while (position < limit && isWhitespace(buffer.get(position))) {
+                position++;
+            }
+        }
+
+        private void skipLine() {
+            while (position < limit && !isLineEnd(buffer.get(position))) {
+                position++;
+            }
+        }
+
+        private int find(int from, int to) {
+            int mask = table.length - 1;
+            for (int slot = hash(from, to) & mask; ; slot = (slot + 1) & mask) {
+                int id = table[slot] - 1;
+                if (id == -1) {
+                    return -1;
+                } else if (matches(keyBytes[id], from, to)) {
+                    return id;
+                }
+            }
+        }
+
+        private int find(String key) {
+            for (int id = 0; id < keys.length; id++) {
+                if (keys[id].equals(key)) {
+                    return id;
+                }
+            }
+            return -1;
+        }
+
+        private boolean matches(byte[] key, int from, int to) {
+            if (key.length != to - from) {
+                return false;
+            }
+            for (int i = 0; i < key.length; i++) {
+                if (key[i] != buffer.get(from + i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private int hash(int from, int to) {
+            int hash = 0;
+            for (int index = from; index < to; index++) {
+                hash = 31 * hash + buffer.get(index);
+            }
+            return hash ^ (hash >>> 16);
+        }
+
+        private static int hash(byte[] bytes, int from, int to) {
+            int hash = 0;
+            for (int index = from; index < to; index++) {
+                hash = 31 * hash + bytes[index];
+            }
+            return hash ^ (hash >>> 16);
+        }
+
+        private String decode(int from, int to) {
+            byte[] bytes = new byte[to - from];
+            for (int i = 0; i < bytes.length; i++) {
+                bytes[i] = buffer.get(from + i);
+            }
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        private String unescape(String raw) throws IOException {
+            StringBuilder result = new StringBuilder(raw.length());
+            for (int i = 0, length = raw.length(); i < length; i++) {
+                char c = raw.charAt(i);
+                if (c != '\\') {
+                    result.append(c);
+                    continue;
+                } else if (++i == length) {
+                    break;
+                }
+                c = raw.charAt(i);
+                if (c == '\r' || c == '\n') {
+                    if (c == '\r' && i + 1 < length && raw.charAt(i + 1) == '\n') {
+                        i++;
+                    }
+                    while (i + 1 < length && " \t\f".indexOf(raw.charAt(i + 1)) != -1) {
+                        i++;
+                    }
+                } else if (c == 'u') {
+                    result.append(decodeUnicode(raw, i + 1));
+                    i += 4;
+                } else {
+                    result.append(c == 't' ? '\t' : c == 'n' ? '\n' : c == 'r' ? '\r' : c == 'f' ? '\f' : c);
+                }
+            }
+            return result.toString();
+        }
+
+        private char decodeUnicode(String raw, int from) throws IOException {
+            int value = 0;
+            for (int i = from; i < from + 4; i++) {
+                int digit = i < raw.length() ? Character.digit(raw.charAt(i), 16) : -1;
+                if (digit == -1) {
+                    throw new IOException("Malformed \\uxxxx encoding in properties file " + path);
+                }
+                value = (value << 4) + digit;
+            }
+            return (char) value;
+        }
+
+        private static boolean isWhitespace(byte b) {
+            return b == ' ' || b == '\t' || b == '\f';
+        }
+
+        private static boolean isLineEnd(byte b) {
+            return b == '\n' || b == '\r';
+        }
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2020 Krzysztof Smigielski
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.nilcaream.utilargs;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Immutable snapshot of values. Keys of environment variables are normalized once when the snapshot
+ * is created. Bound fields are looked up by variable names precomputed in their binding plan so
+ * lookups of bound fields do not convert keys.
+ */
+final class SnapshotValuesSource implements ValuesSource {
+
+    private final Map<String, String> values;
+    private final boolean environment;
+
+    SnapshotValuesSource(Map<String, String> values, boolean environment) {
+        this.values = environment ? normalize(values) : values;
+        this.environment = environment;
+    }
+
+    @Override
+    public String get(String key) {
+        return values.get(environment ? toVariableName(key) : key);
+    }
+
+    /**
+     * Gets value of a fallback key of a bound field.
+     *
+     * @param field bound field.
+     * @param index index of the key in bound field's fallback keys.
+     * @return value or null if not defined.
+     */
+    String get(BoundField field, int index) {
+        return values.get(environment ? field.getVariableNames()[index] : field.getFallbackKeys()[index]);
+    }
+
+    /*
+     * Variables named exactly like normalized keys take precedence over other variables of the same normalized name.
+     */
+    private static Map<String, String> normalize(Map<String, String> values) {
+        Map<String, String> result = new HashMap<>();
+        for (Map.Entry<String, String> entry : values.entrySet()) {
+            if (toVariableName(entry.getKey()).equals(entry.getKey())) {
+                result.put(entry.getKey(), entry.getValue());
+            }
+        }
+        for (Map.Entry<String, String> entry : values.entrySet()) {
+            result.putIfAbsent(toVariableName(entry.getKey()), entry.getValue());
+        }
+        return result;
+    }
+
+    static String toVariableName(String key) {
+        StringBuilder name = new StringBuilder(key.length());
+        for (int i = 0; i < key.length(); i++) {
+            char c = key.charAt(i);
+            name.append(Character.isLetterOrDigit(c) ? Character.toUpperCase(c) : '_');
+        }
+        return name.toString();
+    }
+}
@@ -16,12 +16,14 @@
 
 package com.nilcaream.utilargs;
 
-import java.lang.reflect.Field;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
-import java.util.Map;
 import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 import static java.util.Optional.ofNullable;
 
@@ -30,15 +32,15 @@ import static java.util.Optional.ofNullable;
  */
 public class UtilArgs {
 
-    private final ArgumentsParser parser = new ArgumentsParser();
-    private final ValuesSelector selector = new ValuesSelector();
-    private final OperandsResolver operandsResolver = new OperandsResolver();
-    private final Binder binder = new Binder();
-    private boolean failFast = true;
+    private UtilArgsEngine engine = UtilArgsEngine.create();
 
     private String[] args;
     private Object[] targets;
+    private List<String> operandList;
     private String operands;
+    private ArgumentSource source;
+    private Consumer<String> operandsConsumer;
+    private List<BindingError> errors = Collections.emptyList();
 
     private UtilArgs() {
         // use static factory methods
@@ -66,6 +68,80 @@ public class UtilArgs {
         return new UtilArgs().initialize(args, targets);
     }
 
+    /**
+     * Performs binding of arguments read from a sequential source by using default binding settings.
+     *
+     * @param source   arguments source e.g. NUL-delimited standard input.
+     * @param operands consumer of operands; called after options are bound.
+     * @param targets  target objects; not null; not empty.
+     * @return stateful UtilArgs instance.
+     * @see #create(ArgumentSource, Consumer, Object...)
+     */
+    public static UtilArgs bind(ArgumentSource source, Consumer<String> operands, Object... targets) {
+        return create(source, operands, targets).bind();
+    }
+
+    /**
+     * Initializes UtilArgs with arguments source and target object. Does not perform binding.
+     * Source is read up to the first operand i.e. the first argument that is neither an option nor
+     * a value of a known non-boolean option, or up to -- marker. Only options are held in memory.
+     * Operands are passed to the consumer one by one after options are bound and are not available
+     * via {@link #getOperands()}.
+     *
+     * @param source   arguments source e.g. NUL-delimited standard input.
+     * @param operands consumer of operands; called after options are bound.
+     * @param targets  target objects; not null; not empty.
+     * @return stateful UtilArgs instance.
+     */
+    public static UtilArgs create(ArgumentSource source, Consumer<String> operands, Object... targets) {
+        UtilArgs utilArgs = new UtilArgs().initialize(null, targets);
+        utilArgs.source = Objects.requireNonNull(source, "Source cannot be null");
+        utilArgs.operandsConsumer = Objects.requireNonNull(operands, "Operands consumer cannot be null");
+        return utilArgs;
+    }
+
+    /**
+     * Creates proxy of an interface with Option annotated no-argument methods by using default binding
+     * settings. Option values are mapped on first method access and memoized.
+     *
+     * @param args arguments, usually from application main method.
+     * @param type interface; not null.
+     * @param <T>  interface type.
+     * @return interface proxy.
+     * @see UtilArgsEngine#proxy(String[], Class)
+     */
+    public static <T> T proxy(String[] args, Class<T> type) {
+        return UtilArgsEngine.create().proxy(args, type).getTarget();
+    }
+
+    /**
+     * Binds a batch of argument vectors to new target objects in parallel by using default binding
+     * settings. Errors are reported per vector and do not stop binding of other vectors.
+     *
+     * @param args    argument vectors; not null.
+     * @param factory target objects factory; must be thread-safe.
+     * @param <T>     target type.
+     * @return binding results in input order.
+     * @see UtilArgsEngine#bindAll(List, Supplier)
+     */
+    public static <T> List<BindingResult<T>> bindAll(List<String[]> args, Supplier<T> factory) {
+        return UtilArgsEngine.create().bindAll(args, factory);
+    }
+
+    /**
+     * Binds a stream of argument vectors to new target objects by using default binding settings.
+     * Resulting stream is parallel and keeps encounter order of the input stream.
+     *
+     * @param args    argument vectors; not null.
+     * @param factory target objects factory; must be thread-safe.
+     * @param <T>     target type.
+     * @return stream of binding results.
+     * @see UtilArgsEngine#bindAll(Stream, Supplier)
+     */
+    public static <T> Stream<BindingResult<T>> bindAll(Stream<String[]> args, Supplier<T> factory) {
+        return UtilArgsEngine.create().bindAll(args, factory);
+    }
+
     private UtilArgs initialize(String[] args, Object... targets) {
         this.args = ofNullable(args).orElse(new String[]{});
         this.targets = ofNullable(targets).orElseThrow(() -> new IllegalArgumentException("Targets cannot be null"));
@@ -77,55 +153,64 @@ public class UtilArgs {
 
     /**
      * Binds arguments to a target object. Errors out only with UtilArgsException
-     * (for known binding errors) if failFast is true.
+     * (for known binding errors) if failFast is true and error collection is disabled.
      *
      * @return stateful UtilArgs instance.
      */
     public UtilArgs bind() {
-        Map<String, List<String>> arguments = parser.parse(args);
-
-        for (Object target : targets) {
-            for (Field field : target.getClass().getDeclaredFields()) {
-                Option option = field.getAnnotation(Option.class);
-                if (option != null) {
-                    try {
-                        binder.bind(target, field, selector.select(arguments, option));
-                    } catch (IllegalAccessException e) {
-                        if (failFast) {
-                            throw new UtilArgsException("Binding failed for " + field.getName(), e);
-                        }
-                    } catch (UtilArgsException e) {
-                        if (failFast) {
-                            throw e;
-                        }
-                    }
-                }
-            }
-        }
-
-        operands = arguments.getOrDefault("--", Collections.singletonList("")).get(0);
-        if (operands.isEmpty()) {
-            operands = operandsResolver.resolve(args, targets);
+        List<BindingError> collected = engine.isErrorCollection() ? new ArrayList<>() : null;
+        if (source != null) {
+            engine.bindTargets(source, operandsConsumer, targets, collected);
+            operandList = Collections.emptyList();
+        } else {
+            operandList = engine.bindTargets(args, targets, collected);
         }
+        operands = null;
+        errors = collected == null ? Collections.emptyList() : Collections.unmodifiableList(collected);
         return this;
     }
 
     /**
-     * Gets operands i.e. arguments that follow -- option.
+     * Gets operands i.e. arguments that follow -- option. Operands are joined with a space
+     * on first call.
      *
-     * @return operands or empty string; non-null.
+     * @return operands or empty string; null before binding.
+     * @see #getOperandList()
      */
     public String getOperands() {
+        if (operands == null && operandList != null) {
+            operands = String.join(" ", operandList);
+        }
         return operands;
     }
 
+    /**
+     * Gets operands as a view of original arguments. Operands are neither copied nor joined
+     * so argument boundaries are preserved.
+     *
+     * @return unmodifiable list of operands; empty before binding.
+     */
+    public List<String> getOperandList() {
+        return operandList == null ? Collections.emptyList() : operandList;
+    }
+
+    /**
+     * Gets binding errors collected by the last bind call.
+     *
+     * @return unmodifiable list of errors; empty if there are no errors or error collection is disabled.
+     * @see #enableErrorCollection()
+     */
+    public List<BindingError> getErrors() {
+        return errors;
+    }
+
     /**
      * Disables failing fast. Results in bind method failing with UtilArgsException.
      *
      * @return stateful UtilArgs instance.
      */
     public UtilArgs disableFailFast() {
-        failFast = false;
+        engine = engine.withFailFast(false);
         return this;
     }
 
@@ -135,7 +220,7 @@ public class UtilArgs {
      * @return stateful UtilArgs instance.
      */
     public UtilArgs disableUseFirst() {
-        binder.withUseFirst(false);
+        engine = engine.withUseFirst(false);
         return this;
     }
 
@@ -145,7 +230,67 @@ public class UtilArgs {
      * @return stateful UtilArgs instance.
      */
     public UtilArgs disableUseLast() {
-        binder.withUseLast(false);
+        engine = engine.withUseLast(false);
+        return this;
+    }
+
+    /**
+     * Enables expansion of @path arguments with contents of argument files. Files are memory-mapped
+     * and tokenized lazily. Arguments starting with @@ are bound as literal arguments starting with @.
+     *
+     * @return stateful UtilArgs instance.
+     * @see ArgumentFileSource
+     */
+    public UtilArgs enableArgumentFiles() {
+        engine = engine.withArgumentFiles(true);
+        return this;
+    }
+
+    /**
+     * Enables collecting of all binding errors instead of failing on the first one or ignoring them.
+     * Each error holds field name, option key, raw value and reason.
+     *
+     * @return stateful UtilArgs instance.
+     * @see #getErrors()
+     */
+    public UtilArgs enableErrorCollection() {
+        engine = engine.withErrorCollection(true);
+        return this;
+    }
+
+    /**
+     * Sets fallback sources of values of options missing from arguments.
+     *
+     * @param sources fallback sources in precedence order.
+     * @return stateful UtilArgs instance.
+     * @see UtilArgsEngine#withFallback(ValuesSource...)
+     */
+    public UtilArgs withFallback(ValuesSource... sources) {
+        engine = engine.withFallback(sources);
+        return this;
+    }
+
+    /**
+     * Sets binding metrics listener.
+     *
+     * @param listener listener instance.
+     * @return stateful UtilArgs instance.
+     * @see BindingListener
+     */
+    public UtilArgs withListener(BindingListener listener) {
+        engine = engine.withListener(listener);
+        return this;
+    }
+
+    /**
+     * Sets minimal number of values of an array field converted in parallel.
+     *
+     * @param parallelThreshold minimal number of values; positive.
+     * @return stateful UtilArgs instance.
+     * @see UtilArgsEngine#withParallelThreshold(int)
+     */
+    public UtilArgs withParallelThreshold(int parallelThreshold) {
+        engine = engine.withParallelThreshold(parallelThreshold);
         return this;
     }
 
@@ -156,7 +301,7 @@ public class UtilArgs {
      * @return stateful UtilArgs instance.
      */
     public UtilArgs withMapper(Mapper mapper) {
-        binder.withMapper(mapper);
+        engine = engine.withMapper(mapper);
         return this;
     }
 }
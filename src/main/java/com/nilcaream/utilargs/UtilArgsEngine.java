@@ -0,0 +1,470 @@
+/*
+ * Copyright 2020 Krzysztof Smigielski
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.nilcaream.utilargs;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Immutable arguments binding engine. Configuration methods return new engine instances so a single
+ * configured engine can be shared between threads and used for any number of bind invocations.
+ * Each invocation returns its own result.
+ */
+public final class UtilArgsEngine {
+
+    private static final UtilArgsEngine DEFAULT = new UtilArgsEngine(new Settings());
+
+    private final Settings settings;
+    private final ArgumentsParser parser;
+    private final ValuesSelector selector;
+    private final Binder binder;
+
+    private UtilArgsEngine(Settings settings) {
+        this.settings = settings;
+        this.parser = new ArgumentsParser().withArgumentFiles(settings.argumentFiles);
+        this.selector = new ValuesSelector(settings.sources);
+        this.binder = new Binder().withMapper(settings.mapper).withUseFirst(settings.useFirst).withUseLast(settings.useLast)
+                .withParallelThreshold(settings.parallelThreshold);
+    }
+
+    /**
+     * Gets engine with default binding settings.
+     *
+     * @return engine instance.
+     */
+    public static UtilArgsEngine create() {
+        return DEFAULT;
+    }
+
+    /**
+     * Binds arguments to a target object.
+     *
+     * @param args   arguments, usually from application main method.
+     * @param target target object; not null.
+     * @param <T>    target type.
+     * @return binding result with collected errors if error collection is enabled.
+     * @throws UtilArgsException thrown on known binding errors if failFast is enabled and error collection is disabled.
+     */
+    public <T> BindingResult<T> bind(String[] args, T target) {
+        Objects.requireNonNull(target, "Target cannot be null");
+        List<BindingError> errors = settings.errorCollection ? new ArrayList<>() : null;
+        List<String> operands = bindTargets(args == null ? new String[]{} : args, new Object[]{target}, errors);
+        return errors == null ? new BindingResult<>(target, operands, null)
+                : new BindingResult<>(target, operands, null, Collections.unmodifiableList(errors));
+    }
+
+    /**
+     * Creates proxy of an interface with Option annotated no-argument methods. Arguments are parsed
+     * immediately while option values are mapped on first method access and memoized. Mapping errors
+     * are thrown on method access if failFast is enabled; default values are returned otherwise.
+     *
+     * @param args arguments, usually from application main method.
+     * @param type interface; not null.
+     * @param <T>  interface type.
+     * @return binding result with a proxy as a target.
+     */
+    public <T> BindingResult<T> proxy(String[] args, Class<T> type) {
+        Objects.requireNonNull(type, "Type cannot be null");
+        String[] expanded = parser.expand(args == null ? new String[]{} : args);
+        ParsedArgs arguments = parser.parseCompact(expanded, new OptionKeys[]{BindingPlan.of(type).getKeys()});
+        T target = OptionsProxy.create(type, arguments, selector, binder, settings.failFast);
+        return new BindingResult<>(target, arguments.getOperandList(), null);
+    }
+
+    /**
+     * Binds a batch of argument vectors to new target objects in parallel. Errors are reported per
+     * vector and do not stop binding of other vectors.
+     *
+     * @param args    argument vectors; not null.
+     * @param factory target objects factory; must be thread-safe.
+     * @param <T>     target type.
+     * @return binding results in input order.
+     */
+    public <T> List<BindingResult<T>> bindAll(List<String[]> args, Supplier<T> factory) {
+        return bindAll(args.parallelStream(), factory).collect(Collectors.toList());
+    }
+
+    /**
+     * Binds a stream of argument vectors to new target objects. Resulting stream is parallel and keeps
+     * encounter order of the input stream.
+     *
+     * @param args    argument vectors; not null.
+     * @param factory target objects factory; must be thread-safe.
+     * @param <T>     target type.
+     * @return stream of binding results.
+     * @see #bindAll(List, Supplier)
+     */
+    public <T> Stream<BindingResult<T>> bindAll(Stream<String[]> args, Supplier<T> factory) {
+        Objects.requireNonNull(factory, "Factory cannot be null");
+        return args.parallel().map(vector -> {
+            T target = null;
+            try {
+                target = factory.get();
+                return bind(vector, target);
+            } catch (RuntimeException e) {
+                return new BindingResult<>(target, null, e);
+            }
+        });
+    }
+
+    /**
+     * Binds arguments to target objects.
+     *
+     * @param args    arguments; not null.
+     * @param targets target objects; not null.
+     * @param errors  collected errors; null if error collection is disabled.
+     * @return unmodifiable view of operands.
+     */
+    List<String> bindTargets(String[] args, Object[] targets, List<BindingError> errors) {
+        Object event = FlightEvents.beginBind();
+        int arguments = args.length;
+        int failures = 0;
+        List<String> operands = null;
+        try {
+            boolean timed = settings.listener != BindingListener.NONE;
+            long start = timed ? System.nanoTime() : 0;
+            ParsedArgs parsed = parser.parseCompact(parser.expand(args), getKeys(targets));
+            arguments = parsed.getArgs().length;
+            if (timed) {
+                settings.listener.onPhase(BindingListener.Phase.PARSE, System.nanoTime() - start, arguments);
+            }
+            failures = bind(parsed, targets, errors);
+            start = timed ? System.nanoTime() : 0;
+            Object operandsEvent = FlightEvents.beginOperands();
+            operands = parsed.getOperandList();
+            FlightEvents.commitOperands(operandsEvent, targets, arguments, arguments - operands.size());
+            if (timed) {
+                settings.listener.onPhase(BindingListener.Phase.OPERANDS, System.nanoTime() - start, operands.size());
+            }
+            return operands;
+        } catch (RuntimeException e) {
+            failures++;
+            throw e;
+        } finally {
+            FlightEvents.commitBind(event, targets, arguments, operands == null ? 0 : operands.size(), failures);
+        }
+    }
+
+    /**
+     * Binds options read from a sequential source to target objects and passes remaining operands
+     * to a consumer.
+     *
+     * @param source   arguments source; not null.
+     * @param operands operands consumer; not null.
+     * @param targets  target objects; not null.
+     * @param errors   collected errors; null if error collection is disabled.
+     */
+    void bindTargets(ArgumentSource source, Consumer<String> operands, Object[] targets, List<BindingError> errors) {
+        Object event = FlightEvents.beginBind();
+        int arguments = 0;
+        int count = 0;
+        int failures = 0;
+        ArgumentSource input = parser.expand(source);
+        boolean timed = settings.listener != BindingListener.NONE;
+        try {
+            long start = timed ? System.nanoTime() : 0;
+            List<String> options = new ArrayList<>();
+            OptionKeys[] keys = getKeys(targets);
+            String operand = parser.readOptions(input, keys, options);
+            ParsedArgs parsed = parser.parseCompact(options.toArray(new String[0]), keys);
+            arguments = options.size();
+            if (timed) {
+                settings.listener.onPhase(BindingListener.Phase.PARSE, System.nanoTime() - start, arguments);
+            }
+            failures = bind(parsed, targets, errors);
+            start = timed ? System.nanoTime() : 0;
+            Object operandsEvent = FlightEvents.beginOperands();
+            while (operand != null) {
+                operands.accept(operand);
+                operand = input.next();
+                count++;
+            }
+            FlightEvents.commitOperands(operandsEvent, targets, arguments + count, arguments);
+            if (timed) {
+                settings.listener.onPhase(BindingListener.Phase.OPERANDS, System.nanoTime() - start, count);
+            }
+        } catch (IOException e) {
+            failures++;
+            throw new UtilArgsException("Cannot read arguments", e);
+        } catch (RuntimeException e) {
+            failures++;
+            throw e;
+        } finally {
+            FlightEvents.commitBind(event, targets, arguments + count, count, failures);
+        }
+    }
+
+    boolean isErrorCollection() {
+        return settings.errorCollection;
+    }
+
+    private OptionKeys[] getKeys(Object[] targets) {
+        OptionKeys[] keys = new OptionKeys[targets.length];
+        for (int i = 0; i < targets.length; i++) {
+            keys[i] = BindingPlan.of(targets[i].getClass()).getKeys();
+        }
+        return keys;
+    }
+
+    private int bind(ParsedArgs arguments, Object[] targets, List<BindingError> errors) {
+        if (settings.listener != BindingListener.NONE) {
+            return bindTimed(arguments, targets, errors);
+        }
+        int failures = 0;
+        for (Object target : targets) {
+            for (BoundField field : BindingPlan.of(target.getClass()).getFields()) {
+                List<String> values = null;
+                try {
+                    values = selector.select(arguments, field);
+                    binder.bind(target, field, values);
+                } catch (IllegalAccessException e) {
+                    failures++;
+                    handle(field, arguments, e, errors);
+                } catch (UtilArgsException e) {
+                    failures++;
+                    handle(field, arguments, values, e, errors);
+                }
+            }
+        }
+        return failures;
+    }
+
+    private int bindTimed(ParsedArgs arguments, Object[] targets, List<BindingError> errors) {
+        int failures = 0;
+        long select = 0;
+        int fields = 0;
+        long[] timings = new long[4];
+        for (Object target : targets) {
+            for (BoundField field : BindingPlan.of(target.getClass()).getFields()) {
+                List<String> values = null;
+                try {
+                    long start = System.nanoTime();
+                    values = selector.select(arguments, field);
+                    select += System.nanoTime() - start;
+                    fields++;
+                    binder.bind(target, field, values, timings);
+                } catch (IllegalAccessException e) {
+                    failures++;
+                    handle(field, arguments, e, errors);
+                } catch (UtilArgsException e) {
+                    failures++;
+                    handle(field, arguments, values, e, errors);
+                }
+            }
+        }
+        settings.listener.onPhase(BindingListener.Phase.SELECT, select, fields);
+        settings.listener.onPhase(BindingListener.Phase.MAP, timings[0], (int) timings[2]);
+        settings.listener.onPhase(BindingListener.Phase.BIND, timings[1], (int) timings[3]);
+        reportUnknownOptions(arguments, targets);
+        return failures;
+    }
+
+    private void reportUnknownOptions(ParsedArgs arguments, Object[] targets) {
+        for (int id = 0, size = arguments.size(); id < size; id++) {
+            String key = arguments.getKey(id);
+            boolean known = key.equals(ParsedArgs.OPERANDS_KEY);
+            for (int i = 0; !known && i < targets.length; i++) {
+                known = BindingPlan.of(targets[i].getClass()).getKeys().isKnown(key);
+            }
+            if (!known) {
+                settings.listener.onUnknownOption(key);
+            }
+        }
+    }
+
+    private void handle(BoundField field, ParsedArgs arguments, IllegalAccessException e, List<BindingError> errors) {
+        boolean thrown = errors == null && settings.failFast;
+        if (thrown || settings.listener != BindingListener.NONE) {
+            UtilArgsException error = new UtilArgsException("Binding failed for " + field.getName(), e);
+            settings.listener.onFailure(field.getName(), null, error);
+            if (thrown) {
+                throw error;
+            }
+        }
+        if (errors != null) {
+            errors.add(new BindingError(field.getName(), getKey(arguments, field, null), null, "cannot set field"));
+        }
+    }
+
+    private void handle(BoundField field, ParsedArgs arguments, List<String> values, UtilArgsException e, List<BindingError> errors) {
+        settings.listener.onFailure(field.getName(), values, e);
+        if (errors != null) {
+            String value = e instanceof MappingException ? ((MappingException) e).getValue() : null;
+            String reason = e instanceof MappingException ? ((MappingException) e).getReason() : e.getMessage();
+            errors.add(new BindingError(field.getName(), getKey(arguments, field, value), value, reason));
+        } else if (settings.failFast) {
+            throw e;
+        }
+    }
+
+    /*
+     * Key of a failed value is resolved only when errors are collected. Option value takes precedence
+     * as in values selection; alternative is reported for values from fallback sources.
+     */
+    private static String getKey(ParsedArgs arguments, BoundField field, String value) {
+        String key = field.getValue();
+        String alternative = field.getAlternative();
+        List<String> values = key.isEmpty() ? null : arguments.get(key);
+        List<String> alternatives = alternative.isEmpty() ? null : arguments.get(alternative);
+        if (values == null && alternatives == null) {
+            return alternative.isEmpty() ? key : alternative;
+        } else if (values == null || alternatives != null && !values.contains(value) && alternatives.contains(value)) {
+            return alternative;
+        } else {
+            return key;
+        }
+    }
+
+    /**
+     * Sets custom value mapper. Mapper is shared between threads so it must be thread-safe.
+     *
+     * @param mapper mapper instance; not null.
+     * @return new engine instance.
+     */
+    public UtilArgsEngine withMapper(Mapper mapper) {
+        return with(copy -> copy.mapper = Objects.requireNonNull(mapper, "Mapper cannot be null"));
+    }
+
+    /**
+     * Enables or disables failing fast on known binding errors.
+     *
+     * @param failFast enable / disable.
+     * @return new engine instance.
+     */
+    public UtilArgsEngine withFailFast(boolean failFast) {
+        return with(copy -> copy.failFast = failFast);
+    }
+
+    /**
+     * Enables or disables using first match when binding values are ambiguous.
+     *
+     * @param useFirst enable / disable.
+     * @return new engine instance.
+     */
+    public UtilArgsEngine withUseFirst(boolean useFirst) {
+        return with(copy -> copy.useFirst = useFirst);
+    }
+
+    /**
+     * Enables or disables using last match when binding values are ambiguous.
+     *
+     * @param useLast enable / disable.
+     * @return new engine instance.
+     */
+    public UtilArgsEngine withUseLast(boolean useLast) {
+        return with(copy -> copy.useLast = useLast);
+    }
+
+    /**
+     * Sets fallback sources of values of options missing from arguments. Arguments always take
+     * precedence; sources are queried in a given order e.g.
+     * {@code withFallback(ValuesSource.systemProperties("app."), ValuesSource.environment("APP_"))}.
+     *
+     * @param sources fallback sources in precedence order; replace previously set sources.
+     * @return new engine instance.
+     */
+    public UtilArgsEngine withFallback(ValuesSource... sources) {
+        return with(copy -> copy.sources = sources.clone());
+    }
+
+    /**
+     * Sets binding metrics listener. Listener is shared between threads so it must be thread-safe.
+     *
+     * @param listener listener instance; {@link BindingListener#NONE} to disable metrics.
+     * @return new engine instance.
+     */
+    public UtilArgsEngine withListener(BindingListener listener) {
+        return with(copy -> copy.listener = Objects.requireNonNull(listener, "Listener cannot be null"));
+    }
+
+    /**
+     * Enables or disables expansion of @path arguments with contents of argument files.
+     *
+     * @param argumentFiles enable / disable.
+     * @return new engine instance.
+     * @see ArgumentFileSource
+     */
+    public UtilArgsEngine withArgumentFiles(boolean argumentFiles) {
+        return with(copy -> copy.argumentFiles = argumentFiles);
+    }
+
+    /**
+     * Sets minimal number of values of an array field converted in parallel by using common fork/join pool.
+     * Elements order is kept and the error of the first invalid value is reported. By default only arrays
+     * mapped by {@link BaseMapper} are converted in parallel, starting at {@link Binder#DEFAULT_PARALLEL_THRESHOLD}
+     * values. Setting the threshold enables parallel conversion for custom mappers as well, which then
+     * must be thread-safe.
+     *
+     * @param parallelThreshold minimal number of values; positive; {@link Integer#MAX_VALUE} to disable parallel conversion.
+     * @return new engine instance.
+     */
+    public UtilArgsEngine withParallelThreshold(int parallelThreshold) {
+        if (parallelThreshold < 1) {
+            throw new IllegalArgumentException("Parallel threshold must be positive");
+        }
+        return with(copy -> copy.parallelThreshold = parallelThreshold);
+    }
+
+    /**
+     * Enables or disables collecting of binding errors. Collected errors are returned by
+     * {@link BindingResult#getErrors()} and binding does not fail on known binding errors regardless
+     * of failFast setting. Errors are reported without stack traces.
+     *
+     * @param errorCollection enable / disable.
+     * @return new engine instance.
+     * @see BindingError
+     */
+    public UtilArgsEngine withErrorCollection(boolean errorCollection) {
+        return with(copy -> copy.errorCollection = errorCollection);
+    }
+
+    private UtilArgsEngine with(Consumer<Settings> change) {
+        Settings copy = settings.copy();
+        change.accept(copy);
+        return new UtilArgsEngine(copy);
+    }
+
+    /*
+     * Binding settings. Configuration methods change a copy so a new setting needs only a field and its method.
+     */
+    private static final class Settings implements Cloneable {
+        private Mapper mapper = new BaseMapper();
+        private boolean failFast = true;
+        private boolean useFirst = true;
+        private boolean useLast = true;
+        private boolean argumentFiles;
+        private ValuesSource[] sources = new ValuesSource[0];
+        private BindingListener listener = BindingListener.NONE;
+        private int parallelThreshold;
+        private boolean errorCollection;
+
+        private Settings copy() {
+            try {
+                return (Settings) clone();
+            } catch (CloneNotSupportedException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}
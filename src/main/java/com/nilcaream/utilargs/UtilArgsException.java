@@ -28,4 +28,8 @@ public class UtilArgsException extends RuntimeException {
     public UtilArgsException(String message, Throwable cause) {
         super(message, cause);
     }
+
+    protected UtilArgsException(String message, Throwable cause, boolean writableStackTrace) {
+        super(message, cause, true, writableStackTrace);
+    }
 }
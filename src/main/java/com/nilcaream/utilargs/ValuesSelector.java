@@ -17,6 +17,7 @@
 package com.nilcaream.utilargs;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
@@ -25,10 +26,22 @@ import java.util.Set;
 import static java.util.Optional.ofNullable;
 
 /**
- * Mapped arguments value selector.
+ * Mapped arguments value selector. Optional fallback sources are queried in a given order
+ * if an option is not present in arguments.
  */
 public class ValuesSelector {
 
+    private final ValuesSource[] sources;
+
+    /**
+     * Creates selector with fallback sources.
+     *
+     * @param sources fallback sources in precedence order e.g. system properties before environment.
+     */
+    public ValuesSelector(ValuesSource... sources) {
+        this.sources = sources.clone();
+    }
+
     /**
      * Selects matching values from provided mapped arguments based on Option
      * value and alternative.
@@ -41,6 +54,30 @@ public class ValuesSelector {
         return combineValues(arguments.get(option.value()), arguments.get(option.alternative()));
     }
 
+    /**
+     * Selects matching values from provided parsed arguments based on Option value and alternative.
+     * Does not copy values if only one of value and alternative is present.
+     *
+     * @param arguments parsed arguments.
+     * @param option    Option from target object's field.
+     * @return list of values in value, alternative order without duplicates.
+     */
+    public List<String> select(ParsedArgs arguments, Option option) {
+        return select(arguments, option.value(), option.alternative());
+    }
+
+    private List<String> select(ParsedArgs arguments, String value, String alternative) {
+        List<String> valuesA = arguments.get(value);
+        List<String> valuesB = arguments.get(alternative);
+        if (valuesA == null) {
+            return valuesB;
+        } else if (valuesB == null) {
+            return valuesA;
+        } else {
+            return combineValues(valuesA, valuesB);
+        }
+    }
+
     private List<String> combineValues(List<String> valuesA, List<String> valuesB) {
         if (valuesA == null && valuesB == null) {
             return null;
@@ -51,4 +88,37 @@ public class ValuesSelector {
             return new ArrayList<>(values);
         }
     }
+
+    /**
+     * Selects values of a bound field from parsed arguments and falls back to values sources if
+     * the option is not present. Option keys and fallback keys are taken from the binding plan. Fallback value "false" disables boolean options.
+     *
+     * @param arguments parsed arguments.
+     * @param field     bound field.
+     * @return list of values or null if there are no values.
+     */
+    List<String> select(ParsedArgs arguments, BoundField field) {
+        List<String> values = select(arguments, field.getValue(), field.getAlternative());
+        if (values != null || sources.length == 0) {
+            return values;
+        }
+        String[] keys = field.getFallbackKeys();
+        for (ValuesSource source : sources) {
+            for (int index = 0; index < keys.length; index++) {
+                String value = find(source, field, index);
+                if (value != null) {
+                    return field.isBoolean() && value.equalsIgnoreCase("false") ? null : Collections.singletonList(value);
+                }
+            }
+        }
+        return null;
+    }
+
+    private String find(ValuesSource source, BoundField field, int index) {
+        if (source instanceof SnapshotValuesSource) {
+            return ((SnapshotValuesSource) source).get(field, index);
+        } else {
+            return source.get(field.getFallbackKeys()[index]);
+        }
+    }
 }
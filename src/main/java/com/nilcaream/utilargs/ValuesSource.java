@@ -0,0 +1,103 @@
+/*
+ * Copyright 2020 Krzysztof Smigielski
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.nilcaream.utilargs;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Fallback source of option values used when an option is not present in arguments. Sources are
+ * queried by Option alternative and then by Option value.
+ */
+@FunctionalInterface
+public interface ValuesSource {
+
+    /**
+     * Gets value of a given option key.
+     *
+     * @param key Option value or alternative; not empty.
+     * @return value or null if not defined.
+     */
+    String get(String key);
+
+    /**
+     * Creates source backed by a snapshot of system properties taken once at creation. Property names
+     * are the prefix followed by Option key e.g. -Dapp.input=file for prefix "app." and key "input".
+     *
+     * @param prefix property name prefix; can be empty.
+     * @return values source.
+     */
+    static ValuesSource systemProperties(String prefix) {
+        Properties properties = System.getProperties();
+        Map<String, String> snapshot = new HashMap<>();
+        for (String name : properties.stringPropertyNames()) {
+            if (name.startsWith(prefix)) {
+                snapshot.put(name.substring(prefix.length()), properties.getProperty(name));
+            }
+        }
+        return new SnapshotValuesSource(snapshot, false);
+    }
+
+    /**
+     * Creates source backed by a snapshot of environment variables taken once at creation. Variable
+     * names are the prefix followed by upper-cased Option key with characters other than letters and
+     * digits replaced by underscore e.g. APP_OUTPUT_DIR for prefix "APP_" and key "output-dir".
+     *
+     * @param prefix variable name prefix; can be empty.
+     * @return values source.
+     */
+    static ValuesSource environment(String prefix) {
+        Map<String, String> snapshot = new HashMap<>();
+        for (Map.Entry<String, String> entry : System.getenv().entrySet()) {
+            if (entry.getKey().startsWith(prefix)) {
+                snapshot.put(entry.getKey().substring(prefix.length()), entry.getValue());
+            }
+        }
+        return new SnapshotValuesSource(snapshot, true);
+    }
+
+    /**
+     * Creates source backed by a copy of a map.
+     *
+     * @param values map of Option key to value.
+     * @return values source.
+     */
+    static ValuesSource of(Map<String, String> values) {
+        return new SnapshotValuesSource(new HashMap<>(values), false);
+    }
+
+    /**
+     * Creates source backed by a UTF-8 properties file e.g. deployment defaults. File is memory-mapped
+     * and scanned once; only values of keys that match Option values or alternatives of given types
+     * are decoded and kept. Use several sources to layer files.
+     *
+     * @param path  properties file path.
+     * @param types classes or interfaces with Option annotations.
+     * @return values source.
+     * @throws UtilArgsException thrown if file cannot be read.
+     */
+    static ValuesSource propertiesFile(Path path, Class<?>... types) {
+        try {
+            return PropertiesFileSource.read(path, types);
+        } catch (IOException e) {
+            throw new UtilArgsException("Cannot read properties file " + path, e);
+        }
+    }
+}
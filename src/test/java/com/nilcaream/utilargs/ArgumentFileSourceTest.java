@@ -0,0 +1,130 @@
+/*
+ * Copyright 2020 Krzysztof Smigielski
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.nilcaream.utilargs;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ArgumentFileSourceTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Expand whitespace separated arguments")
+    void case01() throws IOException {
+        // given
+        Path file = write("-a\tvalue\n\n  -b \r\n--long zażółć  ");
+
+        // when
+        List<String> actual = readAll(ArgumentFileSource.expand("first", "@" + file, "last"));
+
+        // then
+        assertThat(actual).containsExactly("first", "-a", "value", "-b", "--long", "zażółć", "last");
+    }
+
+    @Test
+    @DisplayName("Expand quoted and escaped arguments")
+    void case02() throws IOException {
+        // given
+        Path file = write("-n \"John Doe\" -p 'C:\\\\Program Files' -e \"\" x\"y z\"w \"a\\tb\\\"c\"");
+
+        // when
+        List<String> actual = readAll(ArgumentFileSource.expand("@" + file));
+
+        // then
+        assertThat(actual).containsExactly("-n", "John Doe", "-p", "C:\\Program Files", "-e", "", "xy zw", "a\tb\"c");
+    }
+
+    @Test
+    @DisplayName("Skip comments")
+    void case03() throws IOException {
+        // given
+        Path file = write("# options\n-a # inline comment\n-b x#y\n#");
+
+        // when
+        List<String> actual = readAll(ArgumentFileSource.expand("@" + file));
+
+        // then
+        assertThat(actual).containsExactly("-a", "-b", "x#y");
+    }
+
+    @Test
+    @DisplayName("Escaped, empty and nested argument files")
+    void case04() throws IOException {
+        // given
+        Path empty = write(" \n ");
+        Path nested = write("@" + empty);
+
+        // when
+        List<String> actual = readAll(ArgumentFileSource.expand("@@literal", "@" + empty, "@" + nested, "", "@"));
+
+        // then
+        assertThat(actual).containsExactly("@literal", "@" + empty, "", "@");
+    }
+
+    @Test
+    @DisplayName("Fail on missing argument file")
+    void case05() {
+        // given
+        ArgumentFileSource source = ArgumentFileSource.expand("-a", "@" + directory.resolve("missing"));
+
+        // when
+        // then
+        assertThatThrownBy(() -> readAll(source)).isInstanceOf(NoSuchFileException.class);
+    }
+
+    @Test
+    @DisplayName("Fail on unterminated quote")
+    void case06() throws IOException {
+        // given
+        Path file = write("-a \"value\n-b x");
+        ArgumentFileSource source = ArgumentFileSource.expand("@" + file);
+
+        // when
+        // then
+        assertThatThrownBy(() -> readAll(source)).isInstanceOf(UtilArgsException.class)
+                .hasMessage("Unterminated quote in argument file " + file);
+    }
+
+    private Path write(String content) throws IOException {
+        Path file = Files.createTempFile(directory, "args", ".txt");
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+
+    private List<String> readAll(ArgumentSource source) throws IOException {
+        List<String> result = new ArrayList<>();
+        String arg;
+        while ((arg = source.next()) != null) {
+            result.add(arg);
+        }
+        return result;
+    }
+}
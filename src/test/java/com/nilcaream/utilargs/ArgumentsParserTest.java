@@ -18,7 +18,12 @@ package com.nilcaream.utilargs;
 
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.List;
 import java.util.Map;
 
@@ -164,4 +169,56 @@ class ArgumentsParserTest {
         assertThat(actual.get("b")).containsExactly("true");
         assertThat(actual.get("c")).containsExactly("true");
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Remove duplicates of frequently repeated option")
+    void case10() {
+        // given
+        String[] args = new String[40000];
+        for (int i = 0; i < args.length; i += 2) {
+            args[i] = "-I";
+            args[i + 1] = "path" + (i % 1000);
+        }
+
+        // when
+        Map<String, List<String>> actual = underTest.parse(args);
+
+        // then
+        assertThat(actual).hasSize(1);
+        assertThat(actual.get("I")).hasSize(500).startsWith("path0", "path2").endsWith("path998");
+    }
+
+    @Test
+    @DisplayName("Combined flags with repeated characters")
+    void case11() {
+        // given
+        String[] args = new String[]{"-abca", "-c"};
+
+        // when
+        Map<String, List<String>> actual = underTest.parse(args);
+
+        // then
+        assertThat(actual).hasSize(3);
+        assertThat(actual.get("a")).containsExactly("true");
+        assertThat(actual.get("b")).containsExactly("true");
+        assertThat(actual.get("c")).containsExactly("true");
+    }
+
+    @Test
+    @DisplayName("Expand argument files")
+    void case12(@TempDir Path directory) throws IOException {
+        // given
+        Path file = directory.resolve("args.txt");
+        Files.write(file, "-b \"TEST B\"\n--c 'test c'".getBytes(StandardCharsets.UTF_8));
+        String[] args = new String[]{"-a", "@@a", "@" + file};
+
+        // when
+        Map<String, List<String>> actual = underTest.withArgumentFiles(true).parse(args);
+
+        // then
+        assertThat(actual).hasSize(3);
+        assertThat(actual.get("a")).containsExactly("@a");
+        assertThat(actual.get("b")).containsExactly("TEST B");
+        assertThat(actual.get("c")).containsExactly("test c");
+    }
+}
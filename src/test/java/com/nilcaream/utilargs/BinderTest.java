@@ -20,9 +20,12 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
 import java.lang.reflect.Field;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -164,39 +167,311 @@ class BinderTest {
     }
 
     @Test
-    @DisplayName("Bind set of values of invalid types but fail on cast")
-    @SuppressWarnings("unchecked")
-    void case11() throws NoSuchFieldException, IllegalAccessException {
+    @DisplayName("Fail on binding set of values of invalid types")
+    void case11() {
         // given
         TestObject target = new TestObject();
 
         // when
-        underTest.bind(target, get("doubleSet"), of("value A", "value X", "value Z"));
+        // then
+        assertThatExceptionOfType(UtilArgsException.class).isThrownBy(() -> {
+            underTest.bind(target, get("doubleSet"), of("1.5", "value X", "value Z"));
+        }).withMessage("Cannot map \"value X\" to java.lang.Double");
+        assertThat(target.getDoubleSet()).isNull();
+    }
+
+    @Test
+    @DisplayName("Fail on binding list of values of invalid types")
+    void case14() {
+        // given
+        TestObject target = new TestObject();
+
+        // when
+        // then
+        assertThatExceptionOfType(UtilArgsException.class).isThrownBy(() -> {
+            underTest.bind(target, get("integerList"), of("value A", "value X", "value Z"));
+        }).withMessage("Cannot map \"value A\" to java.lang.Integer");
+        assertThat(target.getIntegerList()).isNull();
+    }
+
+    @Test
+    @DisplayName("Bind primitive value")
+    void case15() throws NoSuchFieldException, IllegalAccessException {
+        // given
+        TestObject target = new TestObject();
+
+        // when
+        underTest.bind(target, get("intField"), of("-42"));
 
         // then
-        Set<Double> actual = target.getDoubleSet();
-        assertThat((Set) actual).containsExactly("value A", "value X", "value Z");
-        assertThatExceptionOfType(ClassCastException.class).isThrownBy(() -> {
-            Double next = actual.iterator().next();
+        assertThat(target.getIntField()).isEqualTo(-42);
+    }
+
+    @Test
+    @DisplayName("Error out for invalid primitive value")
+    void case16() {
+        // given
+        TestObject target = new TestObject();
+
+        // when
+        assertThatExceptionOfType(UtilArgsException.class).isThrownBy(() -> {
+            underTest.bind(target, get("intField"), of("value X"));
+        }).withMessage("Cannot map \"value X\" to int");
+    }
+
+    @Test
+    @DisplayName("Bind primitive value with custom mapper")
+    void case17() throws NoSuchFieldException, IllegalAccessException {
+        // given
+        underTest.withMapper(new Mapper() {
+            @SuppressWarnings("unchecked")
+            @Override
+            public <T> T map(String value, Class<T> cls) {
+                return (T) Integer.valueOf(value.length());
+            }
         });
+        TestObject target = new TestObject();
+
+        // when
+        underTest.bind(target, get("intField"), of("value X"));
+
+        // then
+        assertThat(target.getIntField()).isEqualTo(7);
     }
 
     @Test
-    @DisplayName("Bind list of values of invalid types but fail on cast")
-    @SuppressWarnings("unchecked")
-    void case14() throws NoSuchFieldException, IllegalAccessException {
+    @DisplayName("Bind typed lists and sets backed by primitive arrays")
+    void case18() throws NoSuchFieldException, IllegalAccessException {
         // given
         TestObject target = new TestObject();
 
         // when
-        underTest.bind(target, get("integerList"), of("value A", "value X", "value Z"));
+        underTest.bind(target, get("integerList"), of("3", "-1", "3"));
+        underTest.bind(target, get("longList"), of("9000000000", "1"));
+        underTest.bind(target, get("integerSet"), of("3", "-1", "3", "7"));
+        underTest.bind(target, get("doubleSet"), of("1.5", "NaN", "1.50", "NaN"));
 
         // then
-        List<Integer> actual = target.getIntegerList();
-        assertThat((List) actual).containsExactly("value A", "value X", "value Z");
-        assertThatExceptionOfType(ClassCastException.class).isThrownBy(() -> {
-            Integer next = actual.iterator().next();
+        assertThat(target.getIntegerList()).isInstanceOf(IntList.class).containsExactly(3, -1, 3);
+        assertThat(((IntList) target.getIntegerList()).getInt(1)).isEqualTo(-1);
+        assertThat(target.getLongList()).isInstanceOf(LongList.class).containsExactly(9000000000L, 1L);
+        assertThat(target.getIntegerSet()).isInstanceOf(IntSet.class).containsExactly(3, -1, 7);
+        assertThat(target.getDoubleSet()).isInstanceOf(DoubleSet.class).containsExactly(1.5, Double.NaN);
+        target.getIntegerSet().remove(-1);
+        target.getIntegerSet().removeIf(value -> value == 7);
+        assertThat(target.getIntegerSet()).containsExactly(3);
+    }
+
+    @Test
+    @DisplayName("Bind typed collections by using mapper")
+    void case19() throws NoSuchFieldException, IllegalAccessException {
+        // given
+        TestObject target = new TestObject();
+
+        // when
+        underTest.bind(target, get("integerArrayList"), of("1", "2"));
+        underTest.bind(target, get("timeUnits"), of("SECONDS", "DAYS"));
+
+        // then
+        assertThat(target.getIntegerArrayList()).isExactlyInstanceOf(ArrayList.class).containsExactly(1, 2);
+        assertThat(target.getTimeUnits()).containsExactly(TimeUnit.SECONDS, TimeUnit.DAYS);
+    }
+
+    @Test
+    @DisplayName("Bind arrays of primitives and objects")
+    void case20() throws NoSuchFieldException, IllegalAccessException {
+        // given
+        TestObject target = new TestObject();
+
+        // when
+        underTest.bind(target, get("longArray"), of("9000000000", "-1"));
+        underTest.bind(target, get("doubleArray"), of("1.5", "-0.25"));
+        underTest.bind(target, get("charArray"), of("a", "Z"));
+        underTest.bind(target, get("timeUnitArray"), of("DAYS", "SECONDS"));
+
+        // then
+        assertThat(target.getLongArray()).containsExactly(9000000000L, -1L);
+        assertThat(target.getDoubleArray()).containsExactly(1.5, -0.25);
+        assertThat(target.getCharArray()).containsExactly('a', 'Z');
+        assertThat(target.getTimeUnitArray()).containsExactly(TimeUnit.DAYS, TimeUnit.SECONDS);
+    }
+
+    @Test
+    @DisplayName("Bind large arrays in parallel keeping order")
+    void case21() throws NoSuchFieldException, IllegalAccessException {
+        // given
+        TestObject target = new TestObject();
+        List<String> values = new ArrayList<>();
+        for (int i = 0; i < 100000; i++) {
+            values.add(Integer.toString(i - 50000));
+        }
+
+        // when
+        underTest.withParallelThreshold(1).bind(target, get("intArray"), values);
+        underTest.bind(target, get("doubleArray"), values);
+
+        // then
+        assertThat(target.getIntArray()).hasSize(100000);
+        assertThat(target.getDoubleArray()).hasSize(100000);
+        for (int i = 0; i < 100000; i++) {
+            assertThat(target.getIntArray()[i]).isEqualTo(i - 50000);
+            assertThat(target.getDoubleArray()[i]).isEqualTo(i - 50000.0);
+        }
+    }
+
+    @Test
+    @DisplayName("Fail on the first invalid value of a large array")
+    void case22() {
+        // given
+        TestObject target = new TestObject();
+        List<String> values = new ArrayList<>();
+        for (int i = 0; i < 100000; i++) {
+            values.add(i == 30000 || i == 40000 || i == 90000 ? "value " + i : Integer.toString(i));
+        }
+
+        // when
+        // then
+        assertThatExceptionOfType(UtilArgsException.class).isThrownBy(() -> {
+            underTest.withParallelThreshold(1).bind(target, get("longArray"), values);
+        }).withMessage("Cannot map \"value 30000\" to long");
+        assertThat(target.getLongArray()).isNull();
+    }
+
+    @Test
+    @DisplayName("Report mapping failure with reason and without stack trace")
+    void case23() {
+        // given
+        TestObject target = new TestObject();
+        ResultMapper mapper = new ResultMapper() {
+            @Override
+            public <T> MappingResult<T> tryMap(String value, Class<T> cls) {
+                return MappingResult.failure("rejected " + value);
+            }
+        };
+
+        // when
+        // then
+        assertThatExceptionOfType(MappingException.class).isThrownBy(() -> {
+            underTest.bind(target, get("intArray"), of("10", "1e3"));
+        }).withMessage("Cannot map \"1e3\" to int").satisfies(e -> {
+            assertThat(e.getReason()).isEqualTo("not a number");
+            assertThat(e.getStackTrace()).isEmpty();
+        });
+        assertThatExceptionOfType(MappingException.class).isThrownBy(() -> {
+            new Binder().withMapper(mapper).bind(target, get("timeUnits"), of("DAYS"));
+        }).withMessage("Cannot map \"DAYS\" to java.util.concurrent.TimeUnit").satisfies(e -> {
+            assertThat(e.getReason()).isEqualTo("rejected DAYS");
+        });
+    }
+
+    @Test
+    @DisplayName("Convert large arrays by custom mapper in calling thread by default")
+    void case24() throws NoSuchFieldException, IllegalAccessException {
+        // given
+        TestObject target = new TestObject();
+        Set<Thread> threads = ConcurrentHashMap.newKeySet();
+        Mapper mapper = new BaseMapper() {
+            @Override
+            public <T> T map(String value, Class<T> cls) {
+                threads.add(Thread.currentThread());
+                return super.map(value, cls);
+            }
+        };
+        List<String> values = new ArrayList<>();
+        for (int i = 0; i < 100000; i++) {
+            values.add(i % 2 == 0 ? "DAYS" : "HOURS");
+        }
+
+        // when
+        new Binder().withMapper(mapper).bind(target, get("timeUnitArray"), values);
+
+        // then
+        assertThat(threads).containsExactly(Thread.currentThread());
+        assertThat(target.getTimeUnitArray()).hasSize(100000);
+        assertThat(target.getTimeUnitArray()[99999]).isEqualTo(TimeUnit.HOURS);
+    }
+
+    @Test
+    @DisplayName("Report mapping and writing of each field to listener")
+    void case25() throws NoSuchFieldException, IllegalAccessException {
+        // given
+        TestObject target = new TestObject();
+        List<String> phases = new ArrayList<>();
+        List<String> failures = new ArrayList<>();
+        Binder underTest = new Binder().withListener(new BindingListener() {
+            @Override
+            public void onPhase(Phase phase, long nanos, int count) {
+                phases.add(phase + "=" + count);
+            }
+
+            @Override
+            public void onFailure(String field, List<String> values, UtilArgsException error) {
+                failures.add(field + "=" + values);
+            }
         });
+
+        // when
+        underTest.bind(target, get("intField"), of("42"));
+        underTest.bind(target, get("integerListField"), of("1", "2"));
+        assertThatExceptionOfType(MappingException.class).isThrownBy(() -> underTest.bind(target, get("intField"), of("x")));
+
+        // then
+        assertThat(target.getIntField()).isEqualTo(42);
+        assertThat(target.getIntegerListField()).containsExactly(1, 2);
+        assertThat(phases).containsExactly("MAP=1", "BIND=1", "MAP=1", "BIND=1");
+        assertThat(failures).containsExactly("intField=[x]");
+    }
+
+    @Test
+    @DisplayName("Reject numbers of other types returned by custom mapper for compact collections")
+    void case26() {
+        // given
+        TestObject target = new TestObject();
+        Mapper mapper = new BaseMapper() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <T> T map(String value, Class<T> cls) {
+                return (T) Long.valueOf(value);
+            }
+        };
+        Binder underTest = new Binder().withMapper(mapper);
+
+        // when
+        // then
+        assertThatExceptionOfType(MappingException.class).isThrownBy(() -> {
+            underTest.bind(target, get("integerSet"), of("1", "2"));
+        }).withMessage("Cannot map \"1\" to java.lang.Integer").satisfies(e -> {
+            assertThat(e.getReason()).isEqualTo("mapped to java.lang.Long");
+        });
+        assertThatExceptionOfType(MappingException.class).isThrownBy(() -> {
+            underTest.bind(target, get("intArray"), of("1", "2"));
+        }).withMessage("Cannot map \"1\" to int");
+    }
+
+    @Test
+    @DisplayName("Fill large primitive arrays by custom mapper in parallel")
+    void case27() throws NoSuchFieldException, IllegalAccessException {
+        // given
+        TestObject target = new TestObject();
+        Mapper mapper = new BaseMapper() {
+            @Override
+            public <T> T map(String value, Class<T> cls) {
+                return super.map(value.toLowerCase(), cls);
+            }
+        };
+        List<String> values = new ArrayList<>();
+        for (int i = 0; i < 100000; i++) {
+            values.add(i % 2 == 0 ? "A" : "B");
+        }
+
+        // when
+        new Binder().withMapper(mapper).withParallelThreshold(10000).bind(target, get("charArray"), values);
+
+        // then
+        assertThat(target.getCharArray()).hasSize(100000).startsWith('a', 'b');
+        for (int i = 0; i < 100000; i++) {
+            assertThat(target.getCharArray()[i]).isEqualTo(i % 2 == 0 ? 'a' : 'b');
+        }
     }
 
     private Field get(String fieldName) throws NoSuchFieldException {
@@ -206,4 +481,4 @@ class BinderTest {
     private List<String> of(String... strings) {
         return Arrays.stream(strings).collect(Collectors.toList());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright 2020 Krzysztof Smigielski
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.nilcaream.utilargs;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+class BindingPlanTest {
+
+    @Test
+    @DisplayName("Reuse plan of the same class")
+    void case01() {
+        // when
+        BindingPlan first = BindingPlan.of(TestObject.class);
+        BindingPlan second = BindingPlan.of(TestObject.class);
+
+        // then
+        assertThat(first).isSameAs(second);
+    }
+
+    @Test
+    @DisplayName("Include only Option annotated fields")
+    void case02() {
+        // when
+        BindingPlan actual = BindingPlan.of(TestObject.class);
+
+        // then
+        assertThat(actual.getFields().stream().map(BoundField::getName).collect(Collectors.toList()))
+                .containsExactlyInAnyOrder("stringField", "stringValueField", "stringAlternativeField", "intField",
+                        "integerField", "integerListField", "stringArrayField", "verbose", "quick", "name", "FINAL_NAME");
+    }
+
+    @Test
+    @DisplayName("Resolve field kinds")
+    void case03() {
+        // when
+        BindingPlan actual = BindingPlan.of(TestObject.class);
+
+        // then
+        assertThat(actual.getFields()).filteredOn(field -> field.getName().equals("verbose"))
+                .extracting(BoundField::getKind).containsExactly(BoundField.Kind.BOOLEAN);
+        assertThat(actual.getFields()).filteredOn(field -> field.getName().equals("integerListField"))
+                .extracting(BoundField::getKind).containsExactly(BoundField.Kind.LIST);
+        assertThat(actual.getFields()).filteredOn(field -> field.getName().equals("stringArrayField"))
+                .extracting(BoundField::getKind).containsExactly(BoundField.Kind.ARRAY);
+        assertThat(actual.getFields()).filteredOn(field -> field.getName().equals("intField"))
+                .extracting(BoundField::getKind).containsExactly(BoundField.Kind.SINGLE);
+    }
+
+    @Test
+    @DisplayName("Fail on generated binder that cannot be created")
+    void case04() {
+        // when
+        // then
+        assertThatExceptionOfType(UtilArgsException.class).isThrownBy(() -> BindingPlan.of(BrokenObject.class))
+                .withMessage("Cannot use generated binder " + BrokenObject.class.getName() + "_UtilArgsBinder")
+                .withCauseInstanceOf(NoSuchMethodException.class);
+        assertThat(BindingPlan.of(TestObject.class).isGenerated()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Find cached bound fields of plain plans")
+    void case05() throws NoSuchFieldException {
+        // given
+        BindingPlan plain = BindingPlan.of(TestObject.class);
+
+        // when
+        BoundField actual = BindingPlan.find(TestObject.class.getDeclaredField("intField"));
+
+        // then
+        assertThat(actual).isIn(plain.getFields());
+        assertThat(BindingPlan.find(TestObject.class.getDeclaredField("intField"))).isSameAs(actual);
+    }
+
+    @Test
+    @DisplayName("Throw new access error on every write of a non-writable field")
+    void case06() throws NoSuchFieldException {
+        // given
+        BoundField field = BindingPlan.find(TestObject.class.getDeclaredField("FINAL_NAME"));
+
+        // when
+        Throwable first = catchThrowable(() -> field.set(null, "bob"));
+        Throwable second = catchThrowable(() -> field.set(null, "bob"));
+
+        // then
+        assertThat(first).isInstanceOf(IllegalAccessException.class).hasCauseInstanceOf(IllegalAccessException.class);
+        assertThat(second).isInstanceOf(IllegalAccessException.class).isNotSameAs(first).hasMessage(first.getMessage());
+        assertThat(second.getCause()).isSameAs(first.getCause());
+    }
+}
@@ -0,0 +1,32 @@
+/*
+ * Copyright 2020 Krzysztof Smigielski
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.nilcaream.utilargs;
+
+/**
+ * Binder that cannot be created as it has no public constructor.
+ */
+public final class BrokenObject_UtilArgsBinder extends GeneratedBinder<BrokenObject> {
+
+    private BrokenObject_UtilArgsBinder() {
+        option("name", "n", "name", java.lang.String.class);
+    }
+
+    @Override
+    protected void set(BrokenObject target, int index, Object value) {
+        target.name = (java.lang.String) value;
+    }
+}
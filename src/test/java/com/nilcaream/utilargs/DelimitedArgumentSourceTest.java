@@ -0,0 +1,128 @@
+/*
+ * Copyright 2020 Krzysztof Smigielski
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.nilcaream.utilargs;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.channels.Pipe;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+class DelimitedArgumentSourceTest {
+
+    @Test
+    @DisplayName("Read NUL-delimited arguments")
+    void case01() throws IOException {
+        // given
+        ArgumentSource source = DelimitedArgumentSource.nulDelimited(of("-n\0bob\0file with spaces\0\0zażółć\0"));
+
+        // when
+        List<String> actual = readAll(source);
+
+        // then
+        assertThat(actual).containsExactly("-n", "bob", "file with spaces", "", "zażółć");
+    }
+
+    @Test
+    @DisplayName("Read newline-delimited arguments")
+    void case02() throws IOException {
+        // given
+        ArgumentSource source = DelimitedArgumentSource.newlineDelimited(of("-n\r\nbob\nlast"));
+
+        // when
+        List<String> actual = readAll(source);
+
+        // then
+        assertThat(actual).containsExactly("-n", "bob", "last");
+    }
+
+    @Test
+    @DisplayName("Read arguments spanning multiple chunks")
+    void case03() throws IOException {
+        // given
+        StringBuilder input = new StringBuilder();
+        for (int i = 0; i < 100000; i++) {
+            input.append("file").append(i).append('\0');
+        }
+        StringBuilder longArgument = new StringBuilder();
+        for (int i = 0; i < 200000; i++) {
+            longArgument.append('x');
+        }
+        input.append(longArgument);
+        ArgumentSource source = DelimitedArgumentSource.nulDelimited(of(input.toString()));
+
+        // when
+        List<String> actual = readAll(source);
+
+        // then
+        assertThat(actual).hasSize(100001);
+        assertThat(actual.get(99999)).isEqualTo("file99999");
+        assertThat(actual.get(100000)).isEqualTo(longArgument.toString());
+    }
+
+    @Test
+    @DisplayName("Read empty input")
+    void case04() throws IOException {
+        // given
+        ArgumentSource source = DelimitedArgumentSource.nulDelimited(of(""));
+
+        // when
+        List<String> actual = readAll(source);
+
+        // then
+        assertThat(actual).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Reject non-blocking channels")
+    void case05() throws IOException {
+        // given
+        Pipe pipe = Pipe.open();
+        try {
+            pipe.source().configureBlocking(false);
+
+            // when
+            // then
+            assertThatExceptionOfType(IllegalArgumentException.class)
+                    .isThrownBy(() -> new DelimitedArgumentSource(pipe.source(), (byte) 0))
+                    .withMessage("Channel must be in blocking mode");
+        } finally {
+            pipe.source().close();
+            pipe.sink().close();
+        }
+    }
+
+    private List<String> readAll(ArgumentSource source) throws IOException {
+        List<String> result = new ArrayList<>();
+        String arg;
+        while ((arg = source.next()) != null) {
+            result.add(arg);
+        }
+        return result;
+    }
+
+    private ByteArrayInputStream of(String input) {
+        return new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8));
+    }
+}
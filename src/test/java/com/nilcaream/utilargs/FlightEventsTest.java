@@ -0,0 +1,107 @@
+/*
+ * Copyright 2020 Krzysztof Smigielski
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.nilcaream.utilargs;
+
+import jdk.jfr.EventType;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FlightEventsTest {
+
+    @Test
+    @DisplayName("Events are disabled by default")
+    void case01() {
+        // given
+        UtilArgs.bind(new String[]{"-n", "bob"}, new TestObject());
+
+        // when
+        List<EventType> actual = FlightRecorder.getFlightRecorder().getEventTypes().stream()
+                .filter(type -> type.getName().startsWith("com.nilcaream.utilargs."))
+                .collect(Collectors.toList());
+
+        // then
+        assertThat(actual).extracting(EventType::getName).contains("com.nilcaream.utilargs.Bind", "com.nilcaream.utilargs.Map");
+        assertThat(actual).noneMatch(EventType::isEnabled);
+    }
+
+    @Test
+    @DisplayName("Record bind, map and operands events")
+    void case02(@TempDir Path directory) throws IOException {
+        // given
+        Path file = directory.resolve("recording.jfr");
+        String[] args = new String[]{"-n", "bob", "--altInteger", "x", "file1", "file2"};
+
+        // when
+        try (Recording recording = new Recording()) {
+            recording.enable("com.nilcaream.utilargs.Bind").withThreshold(Duration.ZERO);
+            recording.enable("com.nilcaream.utilargs.Map").withThreshold(Duration.ZERO);
+            recording.enable("com.nilcaream.utilargs.Operands").withThreshold(Duration.ZERO);
+            recording.start();
+            UtilArgs.create(args, new TestObject()).disableFailFast().bind();
+            recording.stop();
+            recording.dump(file);
+        }
+        List<RecordedEvent> actual = RecordingFile.readAllEvents(file);
+
+        // then
+        RecordedEvent bind = find(actual, "com.nilcaream.utilargs.Bind");
+        assertThat(bind.getClass("targetClass").getName()).isEqualTo(TestObject.class.getName());
+        assertThat(bind.getInt("targets")).isEqualTo(1);
+        assertThat(bind.getInt("options")).isEqualTo(BindingPlan.of(TestObject.class).getFields().size());
+        assertThat(bind.getInt("arguments")).isEqualTo(6);
+        assertThat(bind.getInt("operands")).isEqualTo(2);
+        assertThat(bind.getInt("failures")).isEqualTo(1);
+        RecordedEvent map = find(actual, "com.nilcaream.utilargs.Map");
+        assertThat(map.getClass("targetClass").getName()).isEqualTo(Integer.class.getName());
+        assertThat(map.getBoolean("failed")).isTrue();
+        RecordedEvent operands = find(actual, "com.nilcaream.utilargs.Operands");
+        assertThat(operands.getInt("arguments")).isEqualTo(6);
+        assertThat(operands.getInt("operands")).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Do not create events if recording is disabled")
+    void case03() {
+        // when
+        Object bind = FlightEvents.beginBind();
+        Object map = FlightEvents.beginMap();
+        Object operands = FlightEvents.beginOperands();
+
+        // then
+        assertThat(bind).isNull();
+        assertThat(map).isNull();
+        assertThat(operands).isNull();
+    }
+
+    private RecordedEvent find(List<RecordedEvent> events, String name) {
+        return events.stream().filter(event -> event.getEventType().getName().equals(name)).findFirst()
+                .orElseThrow(() -> new AssertionError("No " + name + " event"));
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright 2020 Krzysztof Smigielski
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.nilcaream.utilargs;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IntListTest {
+
+    @Test
+    @DisplayName("Add, insert and remove elements")
+    void case01() {
+        // given
+        IntList underTest = new IntList(1);
+
+        // when
+        underTest.addInt(1);
+        underTest.addInt(3);
+        underTest.add(1, 2);
+        underTest.add(0);
+        Integer removed = underTest.remove(0);
+
+        // then
+        assertThat(removed).isEqualTo(1);
+        assertThat(underTest).containsExactly(2, 3, 0);
+        assertThat(underTest.toIntArray()).containsExactly(2, 3, 0);
+        assertThat(underTest.indexOf(0)).isEqualTo(2);
+        assertThat(underTest.contains(4)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Be equal to other lists")
+    void case02() {
+        // given
+        IntList underTest = new IntList();
+
+        // when
+        underTest.addAll(Arrays.asList(3, 1, 2));
+
+        // then
+        assertThat(underTest).isEqualTo(Arrays.asList(3, 1, 2));
+        assertThat(underTest.hashCode()).isEqualTo(Arrays.asList(3, 1, 2).hashCode());
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright 2020 Krzysztof Smigielski
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.nilcaream.utilargs;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+class IntSetTest {
+
+    @Test
+    @DisplayName("Keep insertion order and skip duplicates on growth")
+    void case01() {
+        // given
+        IntSet underTest = new IntSet(1);
+
+        // when
+        for (int i = 1000; i > -1000; i -= 3) {
+            underTest.addInt(i);
+            underTest.addInt(i);
+        }
+
+        // then
+        assertThat(underTest).hasSize(667);
+        assertThat(underTest.toIntArray()[0]).isEqualTo(1000);
+        assertThat(underTest.toIntArray()[666]).isEqualTo(-998);
+        assertThat(underTest.containsInt(-998)).isTrue();
+        assertThat(underTest.containsInt(999)).isFalse();
+        assertThat(underTest.contains("1000")).isFalse();
+    }
+
+    @Test
+    @DisplayName("Be equal to other sets")
+    void case02() {
+        // given
+        IntSet underTest = new IntSet();
+
+        // when
+        underTest.addAll(Arrays.asList(3, 1, 2));
+
+        // then
+        assertThat(underTest).isEqualTo(new HashSet<>(Arrays.asList(1, 2, 3)));
+        assertThat(underTest.hashCode()).isEqualTo(new HashSet<>(Arrays.asList(1, 2, 3)).hashCode());
+    }
+
+    @Test
+    @DisplayName("Remove elements directly, by iterator and by clearing")
+    void case03() {
+        // given
+        IntSet underTest = new IntSet();
+        underTest.addAll(Arrays.asList(1, 2, 3, 4, 5));
+
+        // when
+        boolean removed = underTest.remove(2);
+        boolean missing = underTest.removeInt(7);
+        Iterator<Integer> iterator = underTest.iterator();
+        iterator.next();
+        iterator.next();
+        iterator.remove();
+        underTest.addInt(2);
+
+        // then
+        assertThat(removed).isTrue();
+        assertThat(missing).isFalse();
+        assertThat(underTest).containsExactly(1, 4, 5, 2);
+        assertThat(underTest.toIntArray()).containsExactly(1, 4, 5, 2);
+        assertThat(underTest.containsInt(3)).isFalse();
+        assertThatExceptionOfType(IllegalStateException.class).isThrownBy(iterator::remove);
+        underTest.clear();
+        assertThat(underTest).isEmpty();
+        assertThat(underTest.addInt(1)).isTrue();
+        assertThat(underTest).containsExactly(1);
+    }
+
+    @Test
+    @DisplayName("Behave as linked hash set on random additions and removals")
+    void case04() {
+        // given
+        Random random = new Random(42);
+        IntSet underTest = new IntSet(1);
+        Set<Integer> expected = new LinkedHashSet<>();
+
+        // when
+        for (int i = 0; i < 100000; i++) {
+            int value = random.nextInt(512);
+            if (random.nextInt(3) == 0) {
+                assertThat(underTest.removeInt(value)).isEqualTo(expected.remove(value));
+            } else {
+                assertThat(underTest.addInt(value)).isEqualTo(expected.add(value));
+            }
+        }
+
+        // then
+        assertThat(underTest).containsExactlyElementsOf(expected);
+        for (int value = 0; value < 512; value++) {
+            assertThat(underTest.containsInt(value)).isEqualTo(expected.contains(value));
+        }
+    }
+}
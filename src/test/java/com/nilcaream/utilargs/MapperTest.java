@@ -19,6 +19,9 @@ package com.nilcaream.utilargs;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import java.lang.ref.WeakReference;
+import java.util.concurrent.TimeUnit;
+
 import static org.assertj.core.api.Assertions.assertThat;
 
 class MapperTest {
@@ -103,4 +106,178 @@ class MapperTest {
         // then
         assertThat(actual).isNull();
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Do not fail for invalid values of known types")
+    void case06() {
+        //when
+        Integer actualInt = underTest.map("ten", Integer.class);
+        Character actualChar = underTest.map("XY", char.class);
+        Double actualDouble = underTest.map("", double.class);
+
+        // then
+        assertThat(actualInt).isNull();
+        assertThat(actualChar).isNull();
+        assertThat(actualDouble).isNull();
+    }
+
+    @Test
+    @DisplayName("Reuse resolved mapping strategy")
+    void case07() {
+        //when
+        Integer invalid = underTest.map("x", Integer.class);
+        Integer first = underTest.map("1", Integer.class);
+        Integer second = underTest.map("2", Integer.class);
+        Object notMappable = underTest.map("3", Object.class);
+
+        // then
+        assertThat(invalid).isNull();
+        assertThat(first).isEqualTo(1);
+        assertThat(second).isEqualTo(2);
+        assertThat(notMappable).isNull();
+    }
+
+    @Test
+    @DisplayName("Map enum constants by exact name only by default")
+    void case08() {
+        //when
+        TimeUnit actual = underTest.map("SECONDS", TimeUnit.class);
+        TimeUnit lowerCase = underTest.map("seconds", TimeUnit.class);
+        TimeUnit prefix = underTest.map("SEC", TimeUnit.class);
+        TimeUnit empty = underTest.map("", TimeUnit.class);
+
+        // then
+        assertThat(actual).isEqualTo(TimeUnit.SECONDS);
+        assertThat(lowerCase).isNull();
+        assertThat(prefix).isNull();
+        assertThat(empty).isNull();
+    }
+
+    @Test
+    @DisplayName("Map enum constants ignoring case and by unambiguous prefixes")
+    void case09() {
+        // given
+        Mapper mapper = new BaseMapper().withEnumIgnoreCase(true).withEnumPrefix(true);
+
+        //when
+        TimeUnit lowerCase = mapper.map("seconds", TimeUnit.class);
+        TimeUnit prefix = mapper.map("MIN", TimeUnit.class);
+        TimeUnit lowerCasePrefix = mapper.map("h", TimeUnit.class);
+        TimeUnit ambiguous = mapper.map("MI", TimeUnit.class);
+        TimeUnit unknown = mapper.map("WEEKS", TimeUnit.class);
+
+        // then
+        assertThat(lowerCase).isEqualTo(TimeUnit.SECONDS);
+        assertThat(prefix).isEqualTo(TimeUnit.MINUTES);
+        assertThat(lowerCasePrefix).isEqualTo(TimeUnit.HOURS);
+        assertThat(ambiguous).isNull();
+        assertThat(unknown).isNull();
+    }
+
+    @Test
+    @DisplayName("Prefer exact enum constant names over case-insensitive and prefix matches")
+    void case10() {
+        // given
+        Mapper mapper = new BaseMapper().withEnumIgnoreCase(true).withEnumPrefix(true);
+
+        //when
+        Mode exact = mapper.map("on", Mode.class);
+        Mode ambiguous = mapper.map("On", Mode.class);
+        Mode prefix = mapper.map("ONC", Mode.class);
+        Mode fullName = mapper.map("ON", Mode.class);
+
+        // then
+        assertThat(exact).isEqualTo(Mode.on);
+        assertThat(ambiguous).isNull();
+        assertThat(prefix).isEqualTo(Mode.ONCE);
+        assertThat(fullName).isEqualTo(Mode.ON);
+    }
+
+    @Test
+    @DisplayName("Report mapping failure reasons")
+    void case11() {
+        // given
+        BaseMapper mapper = new BaseMapper();
+
+        //when
+        MappingResult<Integer> valid = mapper.tryMap("12", Integer.class);
+        MappingResult<Integer> invalid = mapper.tryMap("twelve", int.class);
+        MappingResult<Byte> outOfRange = mapper.tryMap("300", Byte.class);
+        MappingResult<Double> invalidDouble = mapper.tryMap("1.5e", Double.class);
+        MappingResult<Character> invalidChar = mapper.tryMap("XY", char.class);
+        MappingResult<TimeUnit> unknown = mapper.tryMap("WEEKS", TimeUnit.class);
+        MappingResult<Object> unsupported = mapper.tryMap("x", Object.class);
+
+        // then
+        assertThat(valid.isSuccess()).isTrue();
+        assertThat(valid.getValue()).isEqualTo(12);
+        assertThat(valid.getReason()).isNull();
+        assertThat(invalid.isSuccess()).isFalse();
+        assertThat(invalid.getValue()).isNull();
+        assertThat(invalid.getReason()).isEqualTo("not a number");
+        assertThat(outOfRange.getReason()).isEqualTo("out of range");
+        assertThat(invalidDouble.getReason()).isEqualTo("not a number");
+        assertThat(invalidChar.getReason()).isEqualTo("not a single character");
+        assertThat(unknown.getReason()).isEqualTo("unknown constant");
+        assertThat(unsupported.getReason()).isEqualTo("unsupported type");
+    }
+
+    @Test
+    @DisplayName("Do not keep mappers of enums reachable")
+    void case12() throws InterruptedException {
+        // given
+        BaseMapper mapper = new BaseMapper().withEnumIgnoreCase(true);
+        WeakReference<BaseMapper> reference = new WeakReference<>(mapper);
+
+        //when
+        TimeUnit actual = mapper.map("days", TimeUnit.class);
+        mapper = null;
+        for (int i = 0; i < 50 && reference.get() != null; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+
+        // then
+        assertThat(actual).isEqualTo(TimeUnit.DAYS);
+        assertThat(reference.get()).isNull();
+    }
+
+    @Test
+    @DisplayName("Map package-private types with public valueOf or String constructor")
+    void case13() {
+        // given
+        BaseMapper mapper = new BaseMapper();
+
+        //when
+        Code code = mapper.map("abc", Code.class);
+        Label label = mapper.map("xyz", Label.class);
+
+        // then
+        assertThat(code.value).isEqualTo("abc");
+        assertThat(label.value).isEqualTo("xyz");
+    }
+
+    private enum Mode {
+        ON, on, ONCE
+    }
+
+    static final class Code {
+        private final String value;
+
+        private Code(String value) {
+            this.value = value;
+        }
+
+        public static Code valueOf(String value) {
+            return new Code(value);
+        }
+    }
+
+    static final class Label {
+        private final String value;
+
+        public Label(String value) {
+            this.value = value;
+        }
+    }
+}
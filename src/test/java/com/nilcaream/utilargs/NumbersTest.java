@@ -0,0 +1,132 @@
+/*
+ * Copyright 2020 Krzysztof Smigielski
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.nilcaream.utilargs;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NumbersTest {
+
+    private static final String[] VALUES = {"", "+", "-", "0", "-0", "+0", "1", "-1", "+1", "42", "0042", "1_000", " 1", "1 ",
+            "1.", ".1", ".", "1.5", "-1.5e3", "1e", "1e+", "1e-5", "1E5", "1f", "1D", "1.5F", "1x", "e5", "x",
+            "NaN", "-NaN", "+Infinity", "-Infinity", "Infinity", "infinity", "Infinityf", "NaNd", " \t1.5\n ",
+            "0x", "0x1", "0x1p1", "0X1.8P-1", "0x.8p1", "0x.p1", "0x1.p", "0x1p1f", "-0x1fp2", "0x1g", "1p1",
+            "127", "128", "-128", "-129", "32767", "32768", "-32768", "-32769", "2147483647", "2147483648",
+            "-2147483648", "-2147483649", "9223372036854775807", "9223372036854775808", "-9223372036854775808",
+            "-9223372036854775809", "99999999999999999999", "99999999999999999999x", "\u0661\u0662", "1e99999",
+            "--1", "+-1", "1-"};
+
+    @Test
+    @DisplayName("Validate integers the same way as JDK parsers")
+    void case01() {
+        for (String value : VALUES) {
+            // when
+            boolean actualByte = Numbers.checkInteger(value, Byte.MIN_VALUE, Byte.MAX_VALUE) == null;
+            boolean actualShort = Numbers.checkInteger(value, Short.MIN_VALUE, Short.MAX_VALUE) == null;
+            boolean actualInt = Numbers.checkInteger(value, Integer.MIN_VALUE, Integer.MAX_VALUE) == null;
+            boolean actualLong = Numbers.checkInteger(value, Long.MIN_VALUE, Long.MAX_VALUE) == null;
+
+            // then
+            assertThat(actualByte).as(value).isEqualTo(isByte(value));
+            assertThat(actualShort).as(value).isEqualTo(isShort(value));
+            assertThat(actualInt).as(value).isEqualTo(isInt(value));
+            assertThat(actualLong).as(value).isEqualTo(isLong(value));
+        }
+    }
+
+    @Test
+    @DisplayName("Validate floating point values the same way as JDK parsers")
+    void case02() {
+        for (String value : VALUES) {
+            // when
+            boolean actual = Numbers.checkDecimal(value) == null;
+
+            // then
+            assertThat(actual).as(value).isEqualTo(isDouble(value)).isEqualTo(isFloat(value));
+        }
+    }
+
+    @Test
+    @DisplayName("Distinguish invalid and out of range values")
+    void case03() {
+        // when
+        String invalid = Numbers.checkInteger("99999999999999999999x", Long.MIN_VALUE, Long.MAX_VALUE);
+        String outOfRange = Numbers.checkInteger("99999999999999999999", Long.MIN_VALUE, Long.MAX_VALUE);
+        String invalidDecimal = Numbers.checkDecimal("1e");
+
+        // then
+        assertThat(invalid).isEqualTo("not a number");
+        assertThat(outOfRange).isEqualTo("out of range");
+        assertThat(invalidDecimal).isEqualTo("not a number");
+    }
+
+    private static boolean isByte(String value) {
+        try {
+            Byte.parseByte(value);
+            return true;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    private static boolean isShort(String value) {
+        try {
+            Short.parseShort(value);
+            return true;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    private static boolean isInt(String value) {
+        try {
+            Integer.parseInt(value);
+            return true;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    private static boolean isLong(String value) {
+        try {
+            Long.parseLong(value);
+            return true;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    private static boolean isDouble(String value) {
+        try {
+            Double.parseDouble(value);
+            return true;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    private static boolean isFloat(String value) {
+        try {
+            Float.parseFloat(value);
+            return true;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+}
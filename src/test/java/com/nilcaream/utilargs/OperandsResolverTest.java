@@ -193,6 +193,34 @@ class OperandsResolverTest {
         assertThat(operands).isEqualTo("");
     }
 
+    @Test
+    @DisplayName("Should not fail on option without value at the end")
+    void case13() {
+        // given
+        Object target = new TestObject();
+        String[] args = of("-q -n");
+
+        // when
+        String operands = underTest.resolve(args, target);
+
+        // then
+        assertThat(operands).isEqualTo("");
+    }
+
+    @Test
+    @DisplayName("Combined flags of multiple targets")
+    void case14() {
+        // given
+        Object[] targets = new Object[]{new TestObject(), new Flags()};
+        String[] args = of("-qxv file1 file2");
+
+        // when
+        String operands = underTest.resolve(args, targets);
+
+        // then
+        assertThat(operands).isEqualTo("file1 file2");
+    }
+
     private String[] of(String string) {
         return string.split(" ");
     }
@@ -201,4 +229,9 @@ class OperandsResolverTest {
         @Option("n")
         String name;
     }
-}
\ No newline at end of file
+
+    public static final class Flags {
+        @Option("x")
+        boolean extract;
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright 2020 Krzysztof Smigielski
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.nilcaream.utilargs;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+class OptionsProxyTest {
+
+    @Test
+    @DisplayName("Access options via interface proxy")
+    void case01() {
+        // given
+        String[] args = new String[]{"-n", "bob", "--count", "12", "-v", "-i", "a", "--include", "b", "file1"};
+
+        // when
+        TestOptions actual = UtilArgs.proxy(args, TestOptions.class);
+
+        // then
+        assertThat(actual.getName()).isEqualTo("bob");
+        assertThat(actual.getCount()).isEqualTo(12);
+        assertThat(actual.isVerbose()).isTrue();
+        assertThat(actual.getIncludes()).containsExactly("a", "b");
+        assertThat(actual.getRatio()).isNull();
+    }
+
+    @Test
+    @DisplayName("Return default values of missing options")
+    void case02() {
+        // given
+        String[] args = new String[]{};
+
+        // when
+        TestOptions actual = UtilArgs.proxy(args, TestOptions.class);
+
+        // then
+        assertThat(actual.getName()).isNull();
+        assertThat(actual.getCount()).isZero();
+        assertThat(actual.isVerbose()).isFalse();
+        assertThat(actual.getIncludes()).isNull();
+    }
+
+    @Test
+    @DisplayName("Memoize mapped values")
+    void case03() {
+        // given
+        int[] calls = new int[1];
+        UtilArgsEngine engine = UtilArgsEngine.create().withMapper(new BaseMapper() {
+            @Override
+            public <T> T map(String value, Class<T> cls) {
+                calls[0]++;
+                return super.map(value, cls);
+            }
+        });
+
+        // when
+        BindingResult<TestOptions> actual = engine.proxy(new String[]{"--ratio", "0.5", "-c", "3", "--", "file1", "file2"}, TestOptions.class);
+
+        // then
+        assertThat(calls[0]).isZero();
+        assertThat(actual.getTarget().getRatio()).isEqualTo(0.5);
+        assertThat(actual.getTarget().getRatio()).isEqualTo(0.5);
+        assertThat(calls[0]).isEqualTo(1);
+        assertThat(actual.getOperands()).isEqualTo("file1 file2");
+    }
+
+    @Test
+    @DisplayName("Fail on access of invalid value")
+    void case04() {
+        // given
+        String[] args = new String[]{"-c", "many", "-n", "bob"};
+
+        // when
+        TestOptions failFast = UtilArgs.proxy(args, TestOptions.class);
+        TestOptions lenient = UtilArgsEngine.create().withFailFast(false).proxy(args, TestOptions.class).getTarget();
+
+        // then
+        assertThat(failFast.getName()).isEqualTo("bob");
+        assertThatExceptionOfType(UtilArgsException.class).isThrownBy(failFast::getCount)
+                .withMessage("Cannot map \"many\" to int");
+        assertThat(lenient.getCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Handle non-option methods")
+    void case05() {
+        // given
+        TestOptions actual = UtilArgs.proxy(new String[]{}, TestOptions.class);
+
+        // when
+        // then
+        assertThat(actual).isEqualTo(actual);
+        assertThat(actual.toString()).isEqualTo("UtilArgs proxy of " + TestOptions.class.getName());
+        assertThatExceptionOfType(UnsupportedOperationException.class).isThrownBy(actual::getDescription);
+        assertThatExceptionOfType(IllegalArgumentException.class).isThrownBy(() -> UtilArgs.proxy(new String[]{}, TestObject.class));
+    }
+
+    @Test
+    @DisplayName("Invoke default methods on proxy")
+    void case06() {
+        // given
+        TestOptions actual = UtilArgs.proxy(new String[]{"-n", "bob"}, TestOptions.class);
+
+        // when
+        // then
+        assertThat(actual.getGreeting()).isEqualTo("Hello bob");
+        assertThat(actual.getGreeting()).isEqualTo("Hello bob");
+    }
+}
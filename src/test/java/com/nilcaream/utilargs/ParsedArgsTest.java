@@ -0,0 +1,206 @@
+/*
+ * Copyright 2020 Krzysztof Smigielski
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.nilcaream.utilargs;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+class ParsedArgsTest {
+
+    private final ArgumentsParser parser = new ArgumentsParser();
+
+    @Test
+    @DisplayName("Get values by short and long keys")
+    void case01() {
+        // given
+        String[] args = of("-a", "A", "--long", "L1", "-qv", "--long", "L2", "--long", "L1");
+
+        // when
+        ParsedArgs actual = parser.parseCompact(args);
+
+        // then
+        assertThat(actual.size()).isEqualTo(4);
+        assertThat(actual.get("a")).containsExactly("A");
+        assertThat(actual.get("long")).containsExactly("L1", "L2");
+        assertThat(actual.get("q")).containsExactly("true");
+        assertThat(actual.get("v")).containsExactly("true");
+        assertThat(actual.get("x")).isNull();
+        assertThat(actual.get("")).isNull();
+        assertThat(actual.getOperandsIndex()).isEqualTo(-1);
+    }
+
+    @Test
+    @DisplayName("Reference original arguments without copying")
+    void case02() {
+        // given
+        String value = new String("value");
+        String[] args = of("-a", value);
+
+        // when
+        List<String> actual = parser.parseCompact(args).get("a");
+
+        // then
+        assertThat(actual.get(0)).isSameAs(value);
+        assertThatExceptionOfType(UnsupportedOperationException.class).isThrownBy(() -> actual.add("other"));
+    }
+
+    @Test
+    @DisplayName("Store operands following -- marker")
+    void case03() {
+        // given
+        String[] args = of("-a", "A", "--", "file1", "file2");
+
+        // when
+        ParsedArgs actual = parser.parseCompact(args);
+
+        // then
+        assertThat(actual.getOperandsIndex()).isEqualTo(3);
+        assertThat(actual.get("--")).containsExactly("file1 file2");
+    }
+
+    @Test
+    @DisplayName("Convert to map of values")
+    void case04() {
+        // given
+        String[] args = of("-a", "A", "-abc", "--long", "L", "--", "file");
+
+        // when
+        ParsedArgs actual = parser.parseCompact(args);
+
+        // then
+        assertThat(actual.toMap()).isEqualTo(parser.parse(args)).hasSize(5);
+    }
+
+    @Test
+    @DisplayName("Handle many distinct keys")
+    void case05() {
+        // given
+        String[] args = new String[2000];
+        for (int i = 0; i < args.length; i += 2) {
+            args[i] = "--key" + i;
+            args[i + 1] = "value" + i;
+        }
+
+        // when
+        ParsedArgs actual = parser.parseCompact(args);
+
+        // then
+        assertThat(actual.size()).isEqualTo(1000);
+        assertThat(actual.get("key0")).containsExactly("value0");
+        assertThat(actual.get("key1998")).containsExactly("value1998");
+    }
+
+    @Test
+    @DisplayName("Resolve operands index in the same pass")
+    void case06() {
+        // given
+        OptionKeys[] keys = new OptionKeys[]{BindingPlan.of(TestObject.class).getKeys()};
+        String[] args = of("-n", "name", "-qv", "file1", "file2");
+
+        // when
+        ParsedArgs actual = parser.parseCompact(args, keys);
+
+        // then
+        assertThat(actual.getOperandsIndex()).isEqualTo(3);
+        assertThat(actual.get("n")).containsExactly("name");
+        assertThat(actual.get("q")).containsExactly("true");
+    }
+
+    @Test
+    @DisplayName("Resolve operands index without operands")
+    void case07() {
+        // given
+        OptionKeys[] keys = new OptionKeys[]{BindingPlan.of(TestObject.class).getKeys()};
+        String[] args = of("-q", "-n");
+
+        // when
+        ParsedArgs actual = parser.parseCompact(args, keys);
+
+        // then
+        assertThat(actual.getOperandsIndex()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Resolve operands index past -- marker without operands")
+    void case08() {
+        // given
+        OptionKeys[] keys = new OptionKeys[]{BindingPlan.of(TestObject.class).getKeys()};
+        String[] args = of("-q", "--", "", "-v", "file");
+
+        // when
+        ParsedArgs actual = parser.parseCompact(args, keys);
+
+        // then
+        assertThat(actual.getOperandsIndex()).isEqualTo(4);
+        assertThat(actual.get("v")).isNull();
+        assertThat(actual.get("--")).isNull();
+    }
+
+    @Test
+    @DisplayName("Operands as view of arguments")
+    void case09() {
+        // given
+        String[] args = of("-n", "bob", "--", "file 1", "file 2");
+
+        // when
+        ParsedArgs actual = parser.parseCompact(args);
+        ParsedArgs withoutMarker = parser.parseCompact("-n", "bob", "file");
+
+        // then
+        assertThat(actual.getOperandList()).containsExactly("file 1", "file 2");
+        assertThat(actual.get("--")).containsExactly("file 1 file 2");
+        assertThat(withoutMarker.getOperandList()).isEmpty();
+        args[4] = "changed";
+        assertThat(actual.getOperandList()).containsExactly("file 1", "changed");
+        assertThatExceptionOfType(UnsupportedOperationException.class).isThrownBy(() -> actual.getOperandList().set(0, "x"));
+    }
+
+    @Test
+    @DisplayName("Classify each argument once so values and operands agree")
+    void case10() {
+        // given
+        OptionKeys[] keys = new OptionKeys[]{BindingPlan.of(TestObject.class).getKeys()};
+
+        // when
+        ParsedArgs flag = parser.parseCompact(of("-q", "file1"), keys);
+        ParsedArgs unknown = parser.parseCompact(of("-n", "bob", "-x", "foo"), keys);
+        ParsedArgs value = parser.parseCompact(of("-n", "-v", "--altInt", "3", "file1"), keys);
+        ParsedArgs marker = parser.parseCompact(of("-n", "--", "file1"), keys);
+
+        // then
+        assertThat(flag.get("q")).containsExactly("true");
+        assertThat(flag.getOperandList()).containsExactly("file1");
+        assertThat(unknown.get("n")).containsExactly("bob");
+        assertThat(unknown.get("x")).containsExactly("true");
+        assertThat(unknown.getOperandList()).containsExactly("foo");
+        assertThat(value.get("n")).containsExactly("-v");
+        assertThat(value.get("v")).isNull();
+        assertThat(value.get("altInt")).containsExactly("3");
+        assertThat(value.getOperandList()).containsExactly("file1");
+        assertThat(marker.get("n")).containsExactly("true");
+        assertThat(marker.getOperandList()).containsExactly("file1");
+    }
+
+    private String[] of(String... strings) {
+        return strings;
+    }
+}
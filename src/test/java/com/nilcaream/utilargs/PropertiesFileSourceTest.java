@@ -0,0 +1,137 @@
+/*
+ * Copyright 2020 Krzysztof Smigielski
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.nilcaream.utilargs;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Properties;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+class PropertiesFileSourceTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Read values of schema keys only")
+    void case01() throws IOException {
+        // given
+        Path file = write("# defaults\n" +
+                "! other comment\n" +
+                "altString = first\n" +
+                "unrelated.key=value\n" +
+                "  name:bob\n" +
+                "int 12\n" +
+                "verbose=\n" +
+                "altString=zażółć  \n");
+
+        // when
+        ValuesSource actual = ValuesSource.propertiesFile(file, TestObject.class);
+
+        // then
+        assertThat(actual.get("altString")).isEqualTo("zażółć  ");
+        assertThat(actual.get("name")).isEqualTo("bob");
+        assertThat(actual.get("int")).isEqualTo("12");
+        assertThat(actual.get("verbose")).isEmpty();
+        assertThat(actual.get("unrelated.key")).isNull();
+        assertThat(actual.get("quick")).isNull();
+    }
+
+    @Test
+    @DisplayName("Read escaped keys, values and continuation lines like java.util.Properties")
+    void case02() throws IOException {
+        // given
+        String content = "alt\\String=a\\tb\\u0041\\\\\n" +
+                "name = multi \\\r\n    line \\\n\tvalue\r\n" +
+                "stringValue=x\\=y\\:z\\\n";
+        Path file = write(content);
+        Properties expected = new Properties();
+        expected.load(new StringReader(content));
+
+        // when
+        ValuesSource actual = ValuesSource.propertiesFile(file, TestObject.class);
+
+        // then
+        assertThat(actual.get("altString")).isEqualTo(expected.getProperty("altString")).isEqualTo("a\tbA\\");
+        assertThat(actual.get("name")).isEqualTo(expected.getProperty("name")).isEqualTo("multi line value");
+        assertThat(actual.get("stringValue")).isEqualTo(expected.getProperty("stringValue")).isEqualTo("x=y:z");
+    }
+
+    @Test
+    @DisplayName("Layer properties files beneath arguments")
+    void case03() throws IOException {
+        // given
+        Path defaults = write("name=jack\naltInt=1\nquick=true\n");
+        Path overrides = write("altInt=2\n");
+        TestObject target = new TestObject();
+
+        // when
+        UtilArgs.create(new String[]{"-n", "bob"}, target)
+                .withFallback(ValuesSource.propertiesFile(overrides, TestObject.class), ValuesSource.propertiesFile(defaults, TestObject.class))
+                .bind();
+
+        // then
+        assertThat(target.getName()).isEqualTo("bob");
+        assertThat(target.getIntField()).isEqualTo(2);
+        assertThat(target.isQuick()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Fail on missing file")
+    void case04() {
+        // given
+        Path file = directory.resolve("missing.properties");
+
+        // when
+        // then
+        assertThatExceptionOfType(UtilArgsException.class).isThrownBy(() -> ValuesSource.propertiesFile(file, TestObject.class))
+                .withMessage("Cannot read properties file " + file);
+    }
+
+    @Test
+    @DisplayName("Fail on malformed unicode escapes")
+    void case05() throws IOException {
+        // given
+        Path invalid = write("name=\\u00zz\n");
+        Path truncated = write("name=bob\\u00");
+
+        // when
+        // then
+        assertThatExceptionOfType(UtilArgsException.class).isThrownBy(() -> ValuesSource.propertiesFile(invalid, TestObject.class))
+                .withMessage("Cannot read properties file " + invalid)
+                .withCauseInstanceOf(IOException.class)
+                .satisfies(e -> assertThat(e.getCause()).hasMessage("Malformed \\uxxxx encoding in properties file " + invalid));
+        assertThatExceptionOfType(UtilArgsException.class).isThrownBy(() -> ValuesSource.propertiesFile(truncated, TestObject.class))
+                .withMessage("Cannot read properties file " + truncated)
+                .satisfies(e -> assertThat(e.getCause()).hasMessage("Malformed \\uxxxx encoding in properties file " + truncated));
+    }
+
+    private Path write(String content) throws IOException {
+        Path file = Files.createTempFile(directory, "test", ".properties");
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+}
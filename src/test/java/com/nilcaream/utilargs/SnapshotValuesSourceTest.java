@@ -0,0 +1,91 @@
+/*
+ * Copyright 2020 Krzysztof Smigielski
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.nilcaream.utilargs;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SnapshotValuesSourceTest {
+
+    @Test
+    @DisplayName("Map Option keys to environment variable names")
+    void case01() {
+        // given
+        Map<String, String> variables = new HashMap<>();
+        variables.put("OUTPUT_DIR", "/tmp");
+        variables.put("NAME", "bob");
+        variables.put("dry-run", "true");
+        variables.put("ALT_INT", "12");
+        variables.put("alt.int", "7");
+
+        // when
+        SnapshotValuesSource actual = new SnapshotValuesSource(variables, true);
+
+        // then
+        assertThat(actual.get("output-dir")).isEqualTo("/tmp");
+        assertThat(actual.get("output.dir")).isEqualTo("/tmp");
+        assertThat(actual.get("name")).isEqualTo("bob");
+        assertThat(actual.get("n")).isNull();
+        assertThat(actual.get("dryRun")).isNull();
+        assertThat(actual.get("dry_run")).isEqualTo("true");
+        assertThat(actual.get("altInt")).isNull();
+        assertThat(actual.get("alt-int")).isEqualTo("12");
+    }
+
+    @Test
+    @DisplayName("Use Option keys as they are for other snapshots")
+    void case02() {
+        // given
+        Map<String, String> values = new HashMap<>();
+        values.put("output-dir", "/tmp");
+
+        // when
+        SnapshotValuesSource actual = new SnapshotValuesSource(values, false);
+
+        // then
+        assertThat(actual.get("output-dir")).isEqualTo("/tmp");
+        assertThat(actual.get("OUTPUT_DIR")).isNull();
+        assertThat(actual.get("missing")).isNull();
+    }
+
+    @Test
+    @DisplayName("Look up bound fields by variable names precomputed in binding plan")
+    void case03() throws NoSuchFieldException {
+        // given
+        Map<String, String> variables = new HashMap<>();
+        variables.put("ALTINT", "12");
+        variables.put("N", "bob");
+        BoundField intField = BindingPlan.find(TestObject.class.getDeclaredField("intField"));
+        BoundField name = BindingPlan.find(TestObject.class.getDeclaredField("name"));
+
+        // when
+        SnapshotValuesSource actual = new SnapshotValuesSource(variables, true);
+
+        // then
+        assertThat(intField.getFallbackKeys()).containsExactly("altInt", "int");
+        assertThat(intField.getVariableNames()).containsExactly("ALTINT", "INT");
+        assertThat(actual.get(intField, 0)).isEqualTo("12");
+        assertThat(actual.get(intField, 1)).isNull();
+        assertThat(actual.get(name, 0)).isNull();
+        assertThat(actual.get(name, 1)).isEqualTo("bob");
+    }
+}
@@ -16,8 +16,10 @@
 
 package com.nilcaream.utilargs;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
 public class TestObject {
     @Option(value = "string", alternative = "altString")
@@ -61,8 +63,24 @@ public class TestObject {
 
     private Set<Double> doubleSet;
 
+    private List<Long> longList;
+
+    private Set<Integer> integerSet;
+
+    private ArrayList<Integer> integerArrayList;
+
+    private Set<TimeUnit> timeUnits;
+
     private int[] intArray;
 
+    private long[] longArray;
+
+    private double[] doubleArray;
+
+    private char[] charArray;
+
+    private TimeUnit[] timeUnitArray;
+
     public List<Integer> getIntegerList() {
         return integerList;
     }
@@ -71,6 +89,22 @@ public class TestObject {
         return doubleSet;
     }
 
+    public List<Long> getLongList() {
+        return longList;
+    }
+
+    public Set<Integer> getIntegerSet() {
+        return integerSet;
+    }
+
+    public ArrayList<Integer> getIntegerArrayList() {
+        return integerArrayList;
+    }
+
+    public Set<TimeUnit> getTimeUnits() {
+        return timeUnits;
+    }
+
     public boolean isVerbose() {
         return verbose;
     }
@@ -130,4 +164,20 @@ public class TestObject {
     public int[] getIntArray() {
         return intArray;
     }
+
+    public long[] getLongArray() {
+        return longArray;
+    }
+
+    public double[] getDoubleArray() {
+        return doubleArray;
+    }
+
+    public char[] getCharArray() {
+        return charArray;
+    }
+
+    public TimeUnit[] getTimeUnitArray() {
+        return timeUnitArray;
+    }
 }
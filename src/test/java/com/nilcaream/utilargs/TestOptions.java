@@ -0,0 +1,43 @@
+/*
+ * Copyright 2020 Krzysztof Smigielski
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.nilcaream.utilargs;
+
+import java.util.List;
+
+public interface TestOptions {
+
+    @Option(value = "n", alternative = "name")
+    String getName();
+
+    @Option(value = "c", alternative = "count")
+    int getCount();
+
+    @Option(value = "v", alternative = "verbose")
+    boolean isVerbose();
+
+    @Option(value = "i", alternative = "include")
+    List<String> getIncludes();
+
+    @Option(alternative = "ratio")
+    Double getRatio();
+
+    String getDescription();
+
+    default String getGreeting() {
+        return "Hello " + getName();
+    }
+}
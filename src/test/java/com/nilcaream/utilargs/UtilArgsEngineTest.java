@@ -0,0 +1,201 @@
+/*
+ * Copyright 2020 Krzysztof Smigielski
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.nilcaream.utilargs;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+class UtilArgsEngineTest {
+
+    @Test
+    @DisplayName("Bind arguments and return result")
+    void case01() {
+        // given
+        UtilArgsEngine underTest = UtilArgsEngine.create();
+        TestObject target = new TestObject();
+
+        // when
+        BindingResult<TestObject> actual = underTest.bind(new String[]{"-n", "bob", "-v", "file1", "file2"}, target);
+
+        // then
+        assertThat(actual.isSuccess()).isTrue();
+        assertThat(actual.getTarget()).isSameAs(target);
+        assertThat(actual.getOperands()).isEqualTo("file1 file2");
+        assertThat(target.getName()).isEqualTo("bob");
+        assertThat(target.isVerbose()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Configuration methods do not modify engine")
+    void case02() {
+        // given
+        UtilArgsEngine underTest = UtilArgsEngine.create();
+        String[] args = new String[]{"-f", "bob"};
+
+        // when
+        UtilArgsEngine other = underTest.withFailFast(false);
+
+        // then
+        assertThat(other).isNotSameAs(underTest);
+        assertThat(other.bind(args, new TestObject()).getOperands()).isEmpty();
+        assertThatExceptionOfType(UtilArgsException.class)
+                .isThrownBy(() -> underTest.bind(args, new TestObject()))
+                .withMessage("Binding failed for FINAL_NAME");
+    }
+
+    @Test
+    @DisplayName("Ambiguous values with disabled first and last match")
+    void case03() {
+        // given
+        UtilArgsEngine underTest = UtilArgsEngine.create().withUseFirst(false).withUseLast(false);
+        String[] args = new String[]{"-n", "bob", "-n", "jack"};
+
+        // when
+        // then
+        assertThatExceptionOfType(UtilArgsException.class).isThrownBy(() -> underTest.bind(args, new TestObject()));
+        assertThat(UtilArgsEngine.create().withUseFirst(false).bind(args, new TestObject()).getTarget().getName()).isEqualTo("jack");
+    }
+
+    @Test
+    @DisplayName("Share single engine between threads")
+    void case04() throws InterruptedException, ExecutionException {
+        // given
+        UtilArgsEngine underTest = UtilArgsEngine.create().withFailFast(false);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        // when
+        List<Future<BindingResult<TestObject>>> futures = IntStream.range(0, 1000)
+                .mapToObj(i -> executor.submit(() -> underTest.bind(new String[]{"-n", "name" + i, "--altInt", "" + i, "file" + i}, new TestObject())))
+                .collect(Collectors.toList());
+
+        // then
+        for (int i = 0; i < futures.size(); i++) {
+            BindingResult<TestObject> result = futures.get(i).get();
+            assertThat(result.getTarget().getName()).isEqualTo("name" + i);
+            assertThat(result.getTarget().getIntField()).isEqualTo(i);
+            assertThat(result.getOperands()).isEqualTo("file" + i);
+        }
+        executor.shutdown();
+    }
+
+    @Test
+    @DisplayName("Report binding phases, failures and unknown options to listener")
+    void case05() {
+        // given
+        Map<BindingListener.Phase, Integer> phases = new EnumMap<>(BindingListener.Phase.class);
+        List<String> failures = new ArrayList<>();
+        List<String> unknown = new ArrayList<>();
+        UtilArgsEngine underTest = UtilArgsEngine.create().withFailFast(false).withListener(new BindingListener() {
+            @Override
+            public void onPhase(Phase phase, long nanos, int count) {
+                assertThat(nanos).isNotNegative();
+                phases.put(phase, count);
+            }
+
+            @Override
+            public void onFailure(String field, List<String> values, UtilArgsException error) {
+                failures.add(field + "=" + values);
+            }
+
+            @Override
+            public void onUnknownOption(String key) {
+                unknown.add(key);
+            }
+        });
+        TestObject target = new TestObject();
+
+        // when
+        BindingResult<TestObject> actual = underTest.bind(new String[]{"-n", "bob", "--altInt", "x", "-x", "--other", "-q", "file"}, target);
+
+        // then
+        assertThat(actual.getOperandList()).containsExactly("file");
+        assertThat(target.getName()).isEqualTo("bob");
+        assertThat(target.isQuick()).isTrue();
+        assertThat(phases).containsOnlyKeys(BindingListener.Phase.values());
+        assertThat(phases.get(BindingListener.Phase.PARSE)).isEqualTo(8);
+        assertThat(phases.get(BindingListener.Phase.SELECT)).isEqualTo(BindingPlan.of(TestObject.class).getFields().size());
+        assertThat(phases.get(BindingListener.Phase.MAP)).isEqualTo(2);
+        assertThat(phases.get(BindingListener.Phase.BIND)).isEqualTo(2);
+        assertThat(phases.get(BindingListener.Phase.OPERANDS)).isEqualTo(1);
+        assertThat(failures).containsExactly("intField=[x]");
+        assertThat(unknown).containsExactlyInAnyOrder("x", "other");
+    }
+
+    @Test
+    @DisplayName("Collect all binding errors")
+    void case06() {
+        // given
+        UtilArgsEngine underTest = UtilArgsEngine.create().withErrorCollection(true);
+        TestObject target = new TestObject();
+        String[] args = {"--altInt", "x", "--altIntegerList", "1", "--altIntegerList", "2x", "-f", "bob", "-n", "bob", "file"};
+
+        // when
+        BindingResult<TestObject> actual = underTest.bind(args, target);
+
+        // then
+        assertThat(actual.isSuccess()).isFalse();
+        assertThat(actual.getError()).isNull();
+        assertThat(actual.getOperandList()).containsExactly("file");
+        assertThat(target.getName()).isEqualTo("bob");
+        assertThat(actual.getErrors()).extracting(BindingError::toString).containsExactlyInAnyOrder(
+                "intField [altInt=x]: not a number",
+                "integerListField [altIntegerList=2x]: not a number",
+                "FINAL_NAME [f=null]: cannot set field");
+        BindingError error = actual.getErrors().stream().filter(e -> e.getField().equals("intField")).findFirst().get();
+        assertThat(error.getKey()).isEqualTo("altInt");
+        assertThat(error.getValue()).isEqualTo("x");
+        assertThat(error.getReason()).isEqualTo("not a number");
+        assertThat(underTest.bind(new String[]{"-n", "bob"}, new TestObject()).getErrors()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Bind primitive fields directly when listener is set")
+    void case07() {
+        // given
+        Map<BindingListener.Phase, Integer> phases = new EnumMap<>(BindingListener.Phase.class);
+        UtilArgsEngine underTest = UtilArgsEngine.create().withListener(new BindingListener() {
+            @Override
+            public void onPhase(Phase phase, long nanos, int count) {
+                phases.put(phase, count);
+            }
+        });
+        TestObject target = new TestObject();
+
+        // when
+        underTest.bind(new String[]{"--altInt", "42", "--altInteger", "7"}, target);
+
+        // then
+        assertThat(target.getIntField()).isEqualTo(42);
+        assertThat(target.getIntegerField()).isEqualTo(7);
+        assertThat(phases.get(BindingListener.Phase.MAP)).isEqualTo(2);
+        assertThat(phases.get(BindingListener.Phase.BIND)).isEqualTo(2);
+    }
+}
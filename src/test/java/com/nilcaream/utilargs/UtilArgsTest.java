@@ -18,6 +18,16 @@ package com.nilcaream.utilargs;
 
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
@@ -226,6 +236,197 @@ class UtilArgsTest {
         assertThat(utilArgs.getOperands()).isEqualTo("my operands 123");
     }
 
+    @Test
+    @DisplayName("Bind arguments from a source and stream operands")
+    void case15() {
+        // given
+        Iterator<String> args = Arrays.asList("-qv", "-n", "-bob", "--", "file 1", "-file2").iterator();
+        TestObject target = new TestObject();
+        List<String> operands = new ArrayList<>();
+
+        // when
+        UtilArgs utilArgs = UtilArgs.bind(() -> args.hasNext() ? args.next() : null, operands::add, target);
+
+        // then
+        assertThat(target.isQuick()).isTrue();
+        assertThat(target.isVerbose()).isTrue();
+        assertThat(target.getName()).isEqualTo("-bob");
+        assertThat(operands).containsExactly("file 1", "-file2");
+        assertThat(utilArgs.getOperands()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Stream operands starting from the first non-option argument")
+    void case16() {
+        // given
+        Iterator<String> args = Arrays.asList("-n", "bob", "file1", "-q", "file2").iterator();
+        TestObject target = new TestObject();
+        List<String> operands = new ArrayList<>();
+
+        // when
+        UtilArgs.bind(() -> args.hasNext() ? args.next() : null, operands::add, target);
+
+        // then
+        assertThat(target.getName()).isEqualTo("bob");
+        assertThat(target.isQuick()).isFalse();
+        assertThat(operands).containsExactly("file1", "-q", "file2");
+    }
+
+    @Test
+    @DisplayName("Bind arguments from argument files")
+    void case17(@TempDir Path directory) throws IOException {
+        // given
+        Path file = directory.resolve("args.txt");
+        Files.write(file, "-q\n--name 'John Doe'\nfile1".getBytes(StandardCharsets.UTF_8));
+        TestObject arrayTarget = new TestObject();
+        TestObject target = new TestObject();
+        List<String> operands = new ArrayList<>();
+
+        // when
+        UtilArgs arrayArgs = UtilArgs.create(of("-v", "@" + file, "@@file2"), arrayTarget).enableArgumentFiles().bind();
+        Iterator<String> args = Arrays.asList("@" + file, "@@file2").iterator();
+        UtilArgs.create(() -> args.hasNext() ? args.next() : null, operands::add, target).enableArgumentFiles().bind();
+
+        // then
+        assertThat(arrayTarget.isVerbose()).isTrue();
+        assertThat(arrayTarget.isQuick()).isTrue();
+        assertThat(arrayTarget.getName()).isEqualTo("John Doe");
+        assertThat(arrayArgs.getOperands()).isEqualTo("file1 @file2");
+        assertThat(target.isQuick()).isTrue();
+        assertThat(target.getName()).isEqualTo("John Doe");
+        assertThat(operands).containsExactly("file1", "@file2");
+    }
+
+    @Test
+    @DisplayName("Bind batch of argument vectors in input order")
+    void case18() {
+        // given
+        List<String[]> args = new ArrayList<>();
+        for (int i = 0; i < 10000; i++) {
+            args.add(i % 100 == 0 ? of("-f", "bob") : of("-n", "name" + i, "--altInt", "" + i, "file" + i));
+        }
+
+        // when
+        List<BindingResult<TestObject>> actual = UtilArgs.bindAll(args, TestObject::new);
+
+        // then
+        assertThat(actual).hasSize(10000);
+        for (int i = 0; i < 10000; i++) {
+            BindingResult<TestObject> result = actual.get(i);
+            if (i % 100 == 0) {
+                assertThat(result.isSuccess()).isFalse();
+                assertThat(result.getError()).isInstanceOf(UtilArgsException.class).hasMessage("Binding failed for FINAL_NAME");
+                assertThat(result.getOperands()).isNull();
+            } else {
+                assertThat(result.isSuccess()).isTrue();
+                assertThat(result.getTarget().getName()).isEqualTo("name" + i);
+                assertThat(result.getTarget().getIntField()).isEqualTo(i);
+                assertThat(result.getOperands()).isEqualTo("file" + i);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Return operands as list preserving argument boundaries")
+    void case19() {
+        // given
+        String[] args = of("-n", "bob", "my file.txt", "other file.txt");
+        TestObject target = new TestObject();
+
+        // when
+        UtilArgs utilArgs = UtilArgs.bind(args, target);
+
+        // then
+        assertThat(utilArgs.getOperandList()).containsExactly("my file.txt", "other file.txt");
+        assertThat(utilArgs.getOperands()).isEqualTo("my file.txt other file.txt");
+        assertThat(UtilArgs.bind(of("-n", "bob"), target).getOperandList()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Fall back to system properties snapshot")
+    void case20() {
+        // given
+        TestObject target = new TestObject();
+        try {
+            System.setProperty("utilargs.test.name", "bob");
+            System.setProperty("utilargs.test.altInt", "12");
+            ValuesSource properties = ValuesSource.systemProperties("utilargs.test.");
+            System.setProperty("utilargs.test.quick", "true");
+
+            // when
+            UtilArgs.create(of("--altInt", "7"), target).withFallback(properties, ValuesSource.environment("UTILARGS_TEST_")).bind();
+        } finally {
+            System.clearProperty("utilargs.test.name");
+            System.clearProperty("utilargs.test.altInt");
+            System.clearProperty("utilargs.test.quick");
+        }
+
+        // then
+        assertThat(target.getName()).isEqualTo("bob");
+        assertThat(target.getIntField()).isEqualTo(7);
+        assertThat(target.isQuick()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Collect binding errors instead of failing fast")
+    void case21() {
+        // given
+        String[] args = of("-n", "bob", "--name", "jack");
+        TestObject target = new TestObject();
+
+        // when
+        UtilArgs utilArgs = UtilArgs.create(args, target)
+                .disableUseFirst()
+                .disableUseLast()
+                .enableErrorCollection()
+                .bind();
+
+        // then
+        assertThat(utilArgs.getErrors()).extracting(BindingError::toString).containsExactly("name [n=bob,jack]: ambiguous values");
+        assertThat(target.getName()).isNull();
+        assertThat(UtilArgs.bind(of("-n", "bob"), target).getErrors()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Return no operands before binding")
+    void case22() {
+        // given
+        UtilArgs utilArgs = UtilArgs.create(of("-n", "bob", "file"), new TestObject());
+
+        // when
+        // then
+        assertThat(utilArgs.getOperandList()).isEmpty();
+        assertThat(utilArgs.getOperands()).isNull();
+        assertThat(utilArgs.bind().getOperands()).isEqualTo("file");
+    }
+
+    @Test
+    @DisplayName("Bind the same arguments equally from array and sequential source")
+    void case23() {
+        // given
+        String[][] vectors = {
+                of("-n", "--", "file"),
+                of("--name", "--", "-q"),
+                of("-n", "-q", "file"),
+                of("-q", "-n", "bob", "--", "--name", "file")};
+
+        for (String[] args : vectors) {
+            TestObject fromArray = new TestObject();
+            TestObject fromSource = new TestObject();
+            List<String> operands = new ArrayList<>();
+            Iterator<String> iterator = Arrays.asList(args).iterator();
+
+            // when
+            UtilArgs utilArgs = UtilArgs.bind(args, fromArray);
+            UtilArgs.bind(() -> iterator.hasNext() ? iterator.next() : null, operands::add, fromSource);
+
+            // then
+            assertThat(fromSource.getName()).as(Arrays.toString(args)).isEqualTo(fromArray.getName());
+            assertThat(fromSource.isQuick()).as(Arrays.toString(args)).isEqualTo(fromArray.isQuick());
+            assertThat(operands).as(Arrays.toString(args)).isEqualTo(utilArgs.getOperandList());
+        }
+    }
+
     private String[] of(String... strings) {
         return strings;
     }
@@ -108,6 +108,84 @@ class ValuesSelectorTest {
         assertThat(actual).containsExactly("first", "second", "third", "fourth", "other");
     }
 
+    @Test
+    @DisplayName("Select values from parsed arguments")
+    void case06() throws NoSuchFieldException {
+        // given
+        ParsedArgs arguments = new ArgumentsParser().parseCompact("-string", "x", "--string", "A", "--altString", "B", "--string", "B");
+
+        // when
+        List<String> actual = underTest.select(arguments, get("stringField"));
+
+        // then
+        assertThat(actual).containsExactly("A", "B");
+    }
+
+    @Test
+    @DisplayName("Select values from parsed arguments by alternative only")
+    void case07() throws NoSuchFieldException {
+        // given
+        ParsedArgs arguments = new ArgumentsParser().parseCompact("--altString", "B");
+
+        // when
+        List<String> actual = underTest.select(arguments, get("stringField"));
+
+        // then
+        assertThat(actual).containsExactly("B");
+        assertThat(underTest.select(arguments, get("stringValueField"))).isNull();
+    }
+
+    @Test
+    @DisplayName("Fall back to values sources in precedence order")
+    void case08() {
+        // given
+        Map<String, String> properties = new HashMap<>();
+        properties.put("altString", "property A");
+        properties.put("int", "1");
+        properties.put("verbose", "false");
+        properties.put("q", "yes");
+        Map<String, String> environment = new HashMap<>();
+        environment.put("ALTSTRING", "environment A");
+        environment.put("ALTINT", "2");
+        environment.put("ALTINTEGER", "3");
+        environment.put("NAME", "bob");
+        ValuesSelector selector = new ValuesSelector(ValuesSource.of(properties), new SnapshotValuesSource(environment, true));
+        ParsedArgs arguments = new ArgumentsParser().parseCompact("--name", "jack");
+
+        // when
+        // then
+        assertThat(selector.select(arguments, field("stringField"))).containsExactly("property A");
+        assertThat(selector.select(arguments, field("intField"))).containsExactly("1");
+        assertThat(selector.select(arguments, field("integerField"))).containsExactly("3");
+        assertThat(selector.select(arguments, field("name"))).containsExactly("jack");
+        assertThat(selector.select(arguments, field("verbose"))).isNull();
+        assertThat(selector.select(arguments, field("quick"))).containsExactly("yes");
+        assertThat(selector.select(arguments, field("stringValueField"))).isNull();
+        assertThat(underTest.select(arguments, field("stringField"))).isNull();
+    }
+
+    @Test
+    @DisplayName("Select values of bound field by option keys of binding plan")
+    void case09() {
+        // given
+        ParsedArgs arguments = new ArgumentsParser().parseCompact("-n", "bob", "--name", "jack", "--name", "bob");
+        BoundField field = field("name");
+
+        // when
+        List<String> actual = underTest.select(arguments, field);
+
+        // then
+        assertThat(field.getValue()).isEqualTo("n");
+        assertThat(field.getAlternative()).isEqualTo("name");
+        assertThat(actual).containsExactly("bob", "jack");
+    }
+
+    private BoundField field(String fieldName) {
+        return BindingPlan.of(TestObject.class).getFields().stream()
+                .filter(field -> field.getName().equals(fieldName))
+                .findFirst().orElseThrow(IllegalArgumentException::new);
+    }
+
     private Option get(String fieldName) throws NoSuchFieldException {
         return TestObject.class.getDeclaredField(fieldName).getAnnotation(Option.class);
     }